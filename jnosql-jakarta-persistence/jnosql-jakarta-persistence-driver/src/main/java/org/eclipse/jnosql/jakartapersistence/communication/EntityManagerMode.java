@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.communication;
+
+import org.eclipse.jnosql.mapping.core.config.MicroProfileSettings;
+
+/**
+ * How {@link PersistenceDatabaseManager} obtains the {@link jakarta.persistence.EntityManager} used by
+ * a repository call. Set with {@link PersistenceConfigurations#ENTITY_MANAGER_MODE}.
+ */
+public enum EntityManagerMode {
+
+    /**
+     * The injected entity manager is used by all the calls. That's right for container-managed entity managers,
+     * which delegate to a persistence context of the current transaction, but a single application-managed
+     * entity manager is neither thread-safe nor ever cleared.
+     */
+    SHARED,
+    /**
+     * An entity manager is created from the entity manager factory for each CDI request and closed when
+     * the request ends. Calls outside an active request context fall back to {@link #THREAD}.
+     * <p>
+     * With a JTA persistence unit, the entity manager joins the active transaction. With a resource-local
+     * persistence unit, changes are only written within a transaction begun and committed on
+     * {@code PersistenceDatabaseManager.getEntityManager().getTransaction()}.
+     */
+    REQUEST,
+    /**
+     * An entity manager is created from the entity manager factory for each thread. Its persistence context is
+     * cleared when a transaction has ended, entities read outside a transaction stay managed until then or until
+     * {@link PersistenceDatabaseManager#release()}. It's closed once the thread has ended, or earlier by
+     * {@link PersistenceDatabaseManager#release()}.
+     * <p>
+     * Transactions work like in the {@link #REQUEST} mode: the entity manager joins the active JTA transaction,
+     * a resource-local transaction is begun on {@code PersistenceDatabaseManager.getEntityManager().getTransaction()}.
+     */
+    THREAD;
+
+    static EntityManagerMode load() {
+        return MicroProfileSettings.INSTANCE.get(PersistenceConfigurations.ENTITY_MANAGER_MODE.get(), String.class)
+                .map(String::trim)
+                .map(String::toUpperCase)
+                .map(EntityManagerMode::valueOf)
+                .orElse(SHARED);
+    }
+}
@@ -16,29 +16,28 @@
 package org.eclipse.jnosql.jakartapersistence.communication;
 
 
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
 import jakarta.data.repository.BasicRepository;
 import jakarta.data.repository.CrudRepository;
 import jakarta.data.repository.DataRepository;
-import jakarta.data.repository.Repository;
-import jakarta.nosql.Embeddable;
-import jakarta.nosql.Entity;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.eclipse.jnosql.mapping.NoSQLRepository;
+import org.eclipse.jnosql.mapping.core.config.MicroProfileSettings;
 import org.eclipse.jnosql.mapping.metadata.ClassScanner;
 
 /**
  * Scanner classes that will load entities with both Entity and Embeddable
  * annotations and repositories: interfaces that extend DataRepository
- * and has the Repository annotation.
+ * and has the Repository annotation. The classes are read from the indexes written
+ * at compile time by the PersistenceIndexProcessor. The classpath is only scanned
+ * without an index, or for the configured packages in the classpath roots without an index.
  */
 enum PersistenceClassScannerSingleton implements ClassScanner {
 
@@ -57,16 +56,21 @@ enum PersistenceClassScannerSingleton implements ClassScanner {
         customRepositories = new HashSet<>();
 
         Logger logger = Logger.getLogger(PersistenceClassScannerSingleton.class.getName());
-        logger.fine("Starting scan class to find entities, embeddable and repositories.");
-        try (ScanResult result = new ClassGraph().enableAllInfo().scan()) {
-            var notSupportedRepositories = loadNotSupportedRepositories(result);
+        final ClassLoader loader = Optional.ofNullable(Thread.currentThread().getContextClassLoader())
+                .orElse(PersistenceClassScannerSingleton.class.getClassLoader());
+        final List<String> packages = scanPackages();
+        logger.fine(() -> "Reading the indexes to find entities, embeddable and repositories, scanning "
+                + (packages.isEmpty() ? "the classpath if there's no index"
+                        : packages + " in the roots without an index"));
+        PersistenceIndex index = PersistenceIndex.load(loader, packages);
+        var notSupportedRepositories = loadNotSupportedRepositories(index);
+        if (!notSupportedRepositories.isEmpty()) {
             logger.warning(() -> "The following repositories are not supported: " + notSupportedRepositories);
-            this.entities.addAll(loadEntities(result));
-            this.embeddables.addAll(loadEmbeddable(result));
-            this.repositories.addAll(loadRepositories(result));
-            this.customRepositories.addAll(loadCustomRepositories(result));
-            notSupportedRepositories.forEach(this.repositories::remove);
         }
+        this.entities.addAll(index.entities());
+        this.embeddables.addAll(index.embeddables());
+        this.repositories.addAll(loadRepositories(index));
+        this.customRepositories.addAll(loadCustomRepositories(index));
         logger.fine(String.format("Finished the class scan with entities %d, embeddables %d and repositories: %d"
                 , entities.size(), embeddables.size(), repositories.size()));
 
@@ -116,38 +120,32 @@ enum PersistenceClassScannerSingleton implements ClassScanner {
     }
 
 
-    @SuppressWarnings("rawtypes")
-    private static List<Class<DataRepository>> loadRepositories(ScanResult scan) {
-        return scan.getClassesWithAnnotation(Repository.class)
-                .getInterfaces()
-                .filter(c -> c.implementsInterface(DataRepository.class))
-                .loadClasses(DataRepository.class)
-                .stream().filter(PersistenceRepositoryFilter.INSTANCE)
+    private static List<Class<?>> loadRepositories(PersistenceIndex index) {
+        return index.repositories().stream()
+                .filter(DataRepository.class::isAssignableFrom)
+                .filter(PersistenceRepositoryFilter.INSTANCE)
                 .toList();
     }
 
-    private static List<Class<?>> loadCustomRepositories(ScanResult scan) {
-        return scan.getClassesWithAnnotation(Repository.class)
-                .getInterfaces()
-                .filter(c -> !c.implementsInterface(DataRepository.class))
-                .loadClasses().stream().toList();
-    }
-
-    @SuppressWarnings("rawtypes")
-    private static List<Class<DataRepository>> loadNotSupportedRepositories(ScanResult scan) {
-        return scan.getClassesWithAnnotation(Repository.class)
-                .getInterfaces()
-                .filter(c -> c.implementsInterface(DataRepository.class))
-                .loadClasses(DataRepository.class)
-                .stream().filter(PersistenceRepositoryFilter.INSTANCE.negate())
+    private static List<Class<?>> loadCustomRepositories(PersistenceIndex index) {
+        return index.repositories().stream()
+                .filter(c -> !DataRepository.class.isAssignableFrom(c))
                 .toList();
     }
 
-    private static List<Class<?>> loadEmbeddable(ScanResult scan) {
-        return scan.getClassesWithAnnotation(Embeddable.class).loadClasses();
+    private static List<Class<?>> loadNotSupportedRepositories(PersistenceIndex index) {
+        return index.repositories().stream()
+                .filter(DataRepository.class::isAssignableFrom)
+                .filter(PersistenceRepositoryFilter.INSTANCE.negate())
+                .toList();
     }
 
-    private static List<Class<?>> loadEntities(ScanResult scan) {
-        return scan.getClassesWithAnnotation(Entity.class).loadClasses();
+    private static List<String> scanPackages() {
+        return MicroProfileSettings.INSTANCE.get(PersistenceConfigurations.SCAN_PACKAGES.get(), String.class)
+                .stream()
+                .flatMap(packages -> Arrays.stream(packages.split(",")))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
     }
 }
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.communication;
+
+import java.util.function.Supplier;
+
+/**
+ * An enumeration to show the available options to tune the Jakarta Persistence driver.
+ * It implements {@link Supplier}, where its it returns the property name that might be
+ * overwritten by the system environment using Eclipse Microprofile or Jakarta Config API.
+ *
+ * @see org.eclipse.jnosql.communication.Settings
+ */
+public enum PersistenceConfigurations implements Supplier<String> {
+
+    /**
+     * The maximum number of compiled criteria queries kept in the query cache. A value of 0 disables the cache.
+     * Default: 256
+     */
+    QUERY_CACHE_SIZE("jnosql.jakarta.persistence.query.cache.size"),
+    /**
+     * The maximum number of values of an IN condition sent in one query. Larger IN conditions are split into
+     * several queries when the query allows it. A value of 0 disables the splitting.
+     * Default: 512
+     */
+    IN_CHUNK_SIZE("jnosql.jakarta.persistence.query.in.chunk.size"),
+    /**
+     * The number of entities fetched at once when streaming the results of {@code findAll} and {@code select}.
+     * A value greater than 0 enables the streaming mode, where the entities are detached from the persistence
+     * context as they are read. A value of 0 loads the whole result with the default provider behavior.
+     * Default: 0
+     */
+    STREAM_FETCH_SIZE("jnosql.jakarta.persistence.stream.fetch.size"),
+    /**
+     * The number of entities inserted or updated by {@code insert(Iterable)} and {@code update(Iterable)} before
+     * the persistence context is flushed and cleared, also used as the JDBC batch size. A value of 0 disables
+     * the flushing. Default: 50
+     */
+    BATCH_SIZE("jnosql.jakarta.persistence.batch.size"),
+    /**
+     * How the entity manager used by a repository call is obtained, one of {@link EntityManagerMode}:
+     * {@code SHARED}, {@code REQUEST} or {@code THREAD}.
+     * Default: SHARED
+     */
+    ENTITY_MANAGER_MODE("jnosql.jakarta.persistence.entity.manager.mode"),
+    /**
+     * A comma-separated list of packages scanned for entities, embeddables and repositories in the classpath roots
+     * without an index written by the {@code PersistenceIndexProcessor} annotation processor. If not set, only the
+     * indexes are read, and the whole classpath is scanned only if there's no index at all.
+     */
+    SCAN_PACKAGES("jnosql.jakarta.persistence.scan.packages"),
+    /**
+     * Whether the queries of the repository methods derived from the method name are translated, and the JPQL of
+     * the methods annotated with {@code Query} parsed, at startup.
+     * Compiled criteria queries are also registered as named queries of the entity manager factory, so that the
+     * provider translates them only once; the JPQL of prepared statements is registered on its first use anyway.
+     * Methods that can't be translated are reported as deployment problems.
+     * Default: false
+     */
+    WARMUP("jnosql.jakarta.persistence.warmup"),
+    /**
+     * The name of the persistence unit of a read replica. Repositories annotated with {@code ReadReplica} run their
+     * find, select, count and exists calls against it, unless the call takes part in a transaction of the primary
+     * persistence unit. Writes always go to the primary persistence unit. If not set, there's no read replica.
+     * The driver creates the entity manager factory of the read replica with
+     * {@code Persistence.createEntityManagerFactory}, outside of the container, so the persistence unit can't use
+     * the data sources, transactions or integrations of the container and is typically a resource-local unit with
+     * its own JDBC settings.
+     */
+    READ_PERSISTENCE_UNIT("jnosql.jakarta.persistence.read.unit");
+
+    private final String value;
+
+    PersistenceConfigurations(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String get() {
+        return value;
+    }
+}
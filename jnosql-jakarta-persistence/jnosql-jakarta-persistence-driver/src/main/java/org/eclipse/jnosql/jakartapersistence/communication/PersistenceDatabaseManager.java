@@ -14,41 +14,316 @@
  */
 package org.eclipse.jnosql.jakartapersistence.communication;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.TransactionRequiredException;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.metamodel.EntityType;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.eclipse.jnosql.mapping.core.config.MicroProfileSettings;
 
 @ApplicationScoped
 public class PersistenceDatabaseManager {
 
+    /**
+     * The number of thread entity managers at which the entity managers of ended threads are first closed.
+     */
+    static final int SWEEP_THRESHOLD = 64;
+
     private final EntityManager em;
 
+    private final EntityManagerMode mode;
+
+    private final Instance<RequestEntityManager> requestEntityManager;
+
+    private final String readPersistenceUnit;
+
+    private volatile PersistenceDatabaseManager readReplica;
+
+    private EntityManagerFactory readReplicaFactory;
+
+    private final boolean jta;
+
+    private final Map<Thread, ThreadEntityManager> threadEntityManagers = new ConcurrentHashMap<>();
+
+    private volatile int sweepThreshold = SWEEP_THRESHOLD;
+
+    private final ThreadLocal<EntityManager> taskEntityManager = new ThreadLocal<>();
+
     private final Map<String, EntityType<?>> entityTypesByName = new HashMap<>();
 
     record QueryContext<FROM, RESULT>(CriteriaQuery<RESULT> query, Root<FROM> root, CriteriaBuilder builder) {
     }
 
+    /**
+     * The entity manager of a thread, with whether it took part in a transaction when it was last returned.
+     */
+    private static final class ThreadEntityManager {
+
+        private final EntityManager em;
+
+        private boolean inTransaction;
+
+        private ThreadEntityManager(EntityManager em) {
+            this.em = em;
+        }
+    }
+
     @Inject
+    public PersistenceDatabaseManager(EntityManager em, Instance<RequestEntityManager> requestEntityManager) {
+        this(em, EntityManagerMode.load(), requestEntityManager,
+                MicroProfileSettings.INSTANCE.get(PersistenceConfigurations.READ_PERSISTENCE_UNIT.get(), String.class)
+                        .map(String::trim)
+                        .filter(unit -> !unit.isEmpty())
+                        .orElse(null));
+    }
+
     public PersistenceDatabaseManager(EntityManager em) {
+        this(em, EntityManagerMode.SHARED, null);
+    }
+
+    PersistenceDatabaseManager(EntityManager em, EntityManagerMode mode, Instance<RequestEntityManager> requestEntityManager) {
+        this(em, mode, requestEntityManager, null);
+    }
+
+    PersistenceDatabaseManager(EntityManager em, EntityManagerMode mode, Instance<RequestEntityManager> requestEntityManager,
+            String readPersistenceUnit) {
         this.em = em;
+        this.mode = mode;
+        this.requestEntityManager = requestEntityManager;
+        this.readPersistenceUnit = readPersistenceUnit;
+        this.jta = isJta(em);
         cacheEntityTypes();
     }
 
     PersistenceDatabaseManager() {
         em = null;
+        mode = EntityManagerMode.SHARED;
+        requestEntityManager = null;
+        readPersistenceUnit = null;
+        jta = false;
     }
 
+    /**
+     * Returns the entity manager for the current call, according to the {@link EntityManagerMode}.
+     */
     public EntityManager getEntityManager() {
-        return em;
+        final EntityManager taskEm = taskEntityManager.get();
+        if (taskEm != null) {
+            return taskEm;
+        }
+        return switch (mode) {
+            case SHARED ->
+                em;
+            case REQUEST -> {
+                try {
+                    yield joinTransaction(requestEntityManager.get().get(em.getEntityManagerFactory()));
+                } catch (ContextNotActiveException e) {
+                    yield threadEntityManager();
+                }
+            }
+            case THREAD ->
+                threadEntityManager();
+        };
+    }
+
+    public EntityManagerMode getEntityManagerMode() {
+        return mode;
+    }
+
+    /**
+     * Runs the task with a new entity manager, which is returned by {@link #getEntityManager()} on the current thread
+     * until the task ends and then closed. Lets a query run on another thread concurrently with the calls of
+     * the caller, which aren't thread-safe on the same entity manager.
+     *
+     * @param task the task to run
+     * @param <R>  the type of the result
+     * @return the result of the task
+     */
+    public <R> R callWithNewEntityManager(Supplier<R> task) {
+        final EntityManager taskEm = em.getEntityManagerFactory().createEntityManager();
+        taskEntityManager.set(taskEm);
+        try {
+            return task.get();
+        } finally {
+            taskEntityManager.remove();
+            taskEm.close();
+        }
+    }
+
+    /**
+     * Returns the manager of the read replica, the persistence unit set with
+     * {@link PersistenceConfigurations#READ_PERSISTENCE_UNIT}. Its entity managers are never shared between
+     * threads: they're obtained with the {@link EntityManagerMode#REQUEST} mode if that's the mode of this manager,
+     * otherwise with the {@link EntityManagerMode#THREAD} mode. Calls of the replica never take part in a
+     * transaction, so the template reading from the replica clears its persistence context with {@link #clear()}
+     * before each call. The entity manager factory of the replica is created when it's first needed, with
+     * {@link Persistence#createEntityManagerFactory(String)}, i.e. bootstrapped by the driver like in Java SE
+     * and not by the container.
+     *
+     * @return the manager of the read replica, or empty if no read replica is configured
+     */
+    public synchronized Optional<PersistenceDatabaseManager> readReplica() {
+        if (readReplica == null && readPersistenceUnit != null) {
+            readReplicaFactory = Persistence.createEntityManagerFactory(readPersistenceUnit);
+            final EntityManagerMode replicaMode = mode == EntityManagerMode.REQUEST
+                    ? EntityManagerMode.REQUEST : EntityManagerMode.THREAD;
+            readReplica = new PersistenceDatabaseManager(readReplicaFactory.createEntityManager(), replicaMode,
+                    requestEntityManager);
+        }
+        return Optional.ofNullable(readReplica);
+    }
+
+    /**
+     * Whether the entity manager of the current call takes part in a transaction, either a JTA transaction
+     * it's joined to or an active resource-local transaction.
+     */
+    public boolean isInTransaction() {
+        return isInTransaction(getEntityManager());
     }
 
+    private static boolean isInTransaction(EntityManager entityManager) {
+        if (entityManager.isJoinedToTransaction()) {
+            return true;
+        }
+        try {
+            return entityManager.getTransaction().isActive();
+        } catch (IllegalStateException e) {
+            // a JTA entity manager that isn't joined to a transaction
+            return false;
+        }
+    }
+
+    /**
+     * Clears the persistence context of the entity manager of the current call, unless it takes part in
+     * a transaction, which detaches all the entities read by earlier calls.
+     */
+    public void clear() {
+        final EntityManager current = getEntityManager();
+        if (!isInTransaction(current)) {
+            current.clear();
+        }
+    }
+
+    /**
+     * Closes the entity managers of the current thread, also of the read replica, if any, so that the next call
+     * on this thread gets a new one. Ends the persistence context of a thread that reads outside transactions,
+     * e.g. a pooled thread at the end of a task. The entity manager of a thread is also closed once the thread
+     * has ended, when the entity managers of ended threads are swept, and on {@link #close()}.
+     */
+    public void release() {
+        ThreadEntityManager threadEm = threadEntityManagers.remove(Thread.currentThread());
+        if (threadEm != null) {
+            closeQuietly(threadEm.em);
+        }
+        PersistenceDatabaseManager replica = readReplica;
+        if (replica != null) {
+            replica.release();
+        }
+    }
+
+    @PreDestroy
     public void close() {
+        threadEntityManagers.values().forEach(threadEm -> closeQuietly(threadEm.em));
+        threadEntityManagers.clear();
+        synchronized (this) {
+            if (readReplica != null) {
+                readReplica.close();
+                closeQuietly(readReplica.em);
+                readReplicaFactory.close();
+                readReplica = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the entity manager of the current thread, joined to the active JTA transaction, if any. Its
+     * persistence context is cleared by the first call after a transaction has ended, so that the entities of
+     * the transaction don't stay managed, and by {@link #release()}. Calls outside a transaction never clear
+     * it, the entities they return stay managed until then.
+     */
+    private EntityManager threadEntityManager() {
+        final Thread thread = Thread.currentThread();
+        ThreadEntityManager threadEm = threadEntityManagers.get(thread);
+        if (threadEm == null || !threadEm.em.isOpen()) {
+            if (threadEntityManagers.size() >= sweepThreshold) {
+                closeEntityManagersOfEndedThreads();
+            }
+            threadEm = new ThreadEntityManager(em.getEntityManagerFactory().createEntityManager());
+            threadEntityManagers.put(thread, threadEm);
+        }
+        joinTransaction(threadEm.em);
+        final boolean inTransaction = isInTransaction(threadEm.em);
+        if (threadEm.inTransaction && !inTransaction) {
+            threadEm.em.clear();
+        }
+        threadEm.inTransaction = inTransaction;
+        return threadEm.em;
+    }
+
+    /**
+     * Closes the entity managers of the threads that have ended. Called when the number of thread entity managers
+     * reaches a threshold, which is then set to twice the number of the remaining ones, so that the map isn't
+     * scanned for each new entity manager and the cost of the sweeps per entity manager stays constant.
+     */
+    private void closeEntityManagersOfEndedThreads() {
+        threadEntityManagers.entrySet().removeIf(entry -> {
+            if (entry.getKey().isAlive()) {
+                return false;
+            }
+            closeQuietly(entry.getValue().em);
+            return true;
+        });
+        sweepThreshold = Math.max(SWEEP_THRESHOLD, 2 * threadEntityManagers.size());
+    }
+
+    /**
+     * Joins an entity manager created from the factory of a JTA persistence unit to the active JTA transaction,
+     * so that its changes are written with the transaction of the caller.
+     */
+    private EntityManager joinTransaction(EntityManager entityManager) {
+        if (jta && !entityManager.isJoinedToTransaction()) {
+            try {
+                entityManager.joinTransaction();
+            } catch (TransactionRequiredException e) {
+                // no active JTA transaction
+            }
+        }
+        return entityManager;
+    }
+
+    private static boolean isJta(EntityManager entityManager) {
+        try {
+            entityManager.getTransaction();
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(EntityManager entityManager) {
+        if (entityManager.isOpen()) {
+            try {
+                if (entityManager.getTransaction().isActive()) {
+                    entityManager.getTransaction().rollback();
+                }
+            } catch (IllegalStateException e) {
+                // a JTA entity manager, its transaction is completed by the transaction manager
+            }
+            entityManager.close();
+        }
     }
 
     public <T> EntityType<T> findEntityType(String entityName) {
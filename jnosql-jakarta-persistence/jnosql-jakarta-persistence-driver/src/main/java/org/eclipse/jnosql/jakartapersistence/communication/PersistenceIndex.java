@@ -0,0 +1,200 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.communication;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import jakarta.data.repository.Repository;
+import jakarta.nosql.Embeddable;
+import jakarta.nosql.Entity;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.jnosql.jakartapersistence.processor.PersistenceIndexProcessor;
+
+/**
+ * The entities, embeddables and repository interfaces of the application, read from the indexes written by
+ * {@link PersistenceIndexProcessor} at compile time and found by scanning the configured packages in the classpath
+ * roots without an index.
+ */
+record PersistenceIndex(List<Class<?>> entities, List<Class<?>> embeddables, List<Class<?>> repositories) {
+
+    /**
+     * Reads all the indexes on the classpath. The classpath is only scanned as a fallback: without any index,
+     * the packages, or the whole classpath if there are no packages, are scanned. With an index, the classpath
+     * isn't scanned unless there are packages, which are then scanned in the classpath roots, directories or jars,
+     * that don't contain an index, e.g. a jar compiled without the annotation processor.
+     *
+     * @param loader   the class loader to read the indexes and scan the classpath of
+     * @param packages the packages to scan, all if empty and there's no index
+     */
+    static PersistenceIndex load(ClassLoader loader, List<String> packages) {
+        final List<URL> resources = indexResources(loader);
+        if (resources.isEmpty()) {
+            return scan(packages, loader, Set.of());
+        }
+        final PersistenceIndex index = read(loader, resources);
+        if (packages.isEmpty()) {
+            return index;
+        }
+        final Set<Path> indexedRoots = new HashSet<>();
+        resources.forEach(resource -> root(resource).ifPresent(indexedRoots::add));
+        final PersistenceIndex scanned = scan(packages, loader, indexedRoots);
+        scanned.entities().stream().filter(type -> !index.entities().contains(type)).forEach(index.entities()::add);
+        scanned.embeddables().stream().filter(type -> !index.embeddables().contains(type))
+                .forEach(index.embeddables()::add);
+        scanned.repositories().stream().filter(type -> !index.repositories().contains(type))
+                .forEach(index.repositories()::add);
+        return index;
+    }
+
+    /**
+     * Reads and merges all the indexes on the classpath, e.g. from several jars.
+     */
+    static Optional<PersistenceIndex> read(ClassLoader loader) {
+        final List<URL> resources = indexResources(loader);
+        if (resources.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(read(loader, resources));
+    }
+
+    private static PersistenceIndex read(ClassLoader loader, List<URL> resources) {
+        try {
+            PersistenceIndex index = new PersistenceIndex(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            for (URL resource : resources) {
+                index.read(resource, loader);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + PersistenceIndexProcessor.INDEX_RESOURCE, e);
+        }
+    }
+
+    private static List<URL> indexResources(ClassLoader loader) {
+        try {
+            return Collections.list(loader.getResources(PersistenceIndexProcessor.INDEX_RESOURCE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + PersistenceIndexProcessor.INDEX_RESOURCE, e);
+        }
+    }
+
+    /**
+     * Scans the packages, or the whole classpath if there are no packages.
+     */
+    static PersistenceIndex scan(List<String> packages) {
+        return scan(packages, null, Set.of());
+    }
+
+    private static PersistenceIndex scan(List<String> packages, ClassLoader loader, Set<Path> excludedRoots) {
+        ClassGraph classGraph = new ClassGraph().enableClassInfo().enableAnnotationInfo();
+        if (loader != null) {
+            classGraph.overrideClassLoaders(loader);
+        }
+        if (!packages.isEmpty()) {
+            classGraph.acceptPackages(packages.toArray(String[]::new));
+        }
+        if (!excludedRoots.isEmpty()) {
+            classGraph.filterClasspathElements(element -> path(element).map(path -> !excludedRoots.contains(path))
+                    .orElse(true));
+        }
+        try (ScanResult result = classGraph.scan()) {
+            return new PersistenceIndex(
+                    result.getClassesWithAnnotation(Entity.class).loadClasses(),
+                    result.getClassesWithAnnotation(Embeddable.class).loadClasses(),
+                    result.getClassesWithAnnotation(Repository.class).getInterfaces().loadClasses());
+        }
+    }
+
+    private void read(URL resource, ClassLoader loader) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.indexOf(' ');
+                if (separator < 0) {
+                    continue;
+                }
+                final String kind = line.substring(0, separator);
+                final Class<?> type = load(line.substring(separator + 1).trim(), loader);
+                switch (kind) {
+                    case PersistenceIndexProcessor.ENTITY_KIND -> entities.add(type);
+                    case PersistenceIndexProcessor.EMBEDDABLE_KIND -> embeddables.add(type);
+                    case PersistenceIndexProcessor.REPOSITORY_KIND -> {
+                        if (type.isInterface()) {
+                            repositories.add(type);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the classpath root, a directory or a jar, that contains the index resource.
+     */
+    private static Optional<Path> root(URL resource) {
+        final String spec = resource.toString();
+        try {
+            if (spec.startsWith("jar:") && spec.contains("!/")) {
+                return Optional.of(normalize(Path.of(URI.create(
+                        spec.substring("jar:".length(), spec.indexOf("!/"))))));
+            }
+            if (spec.startsWith("file:") && spec.endsWith(PersistenceIndexProcessor.INDEX_RESOURCE)) {
+                return Optional.of(normalize(Path.of(URI.create(
+                        spec.substring(0, spec.length() - PersistenceIndexProcessor.INDEX_RESOURCE.length())))));
+            }
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            // not a file of the default file system, the root is scanned
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Path> path(String classpathElement) {
+        try {
+            return Optional.of(normalize(Path.of(classpathElement)));
+        } catch (InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static Class<?> load(String name, ClassLoader loader) {
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The class " + name + " from " + PersistenceIndexProcessor.INDEX_RESOURCE
+                    + " was not found, the index may be outdated", e);
+        }
+    }
+}
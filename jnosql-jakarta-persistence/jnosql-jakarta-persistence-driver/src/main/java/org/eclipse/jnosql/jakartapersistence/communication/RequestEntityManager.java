@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.communication;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the entity managers of a CDI request in the {@link EntityManagerMode#REQUEST} mode, one per entity manager
+ * factory, e.g. for the primary database and its read replica. An entity manager is created when it's first needed
+ * in the request and closed when the request ends.
+ */
+@RequestScoped
+class RequestEntityManager {
+
+    private final Map<EntityManagerFactory, EntityManager> entityManagers = new HashMap<>();
+
+    EntityManager get(EntityManagerFactory factory) {
+        EntityManager em = entityManagers.get(factory);
+        if (em == null || !em.isOpen()) {
+            em = factory.createEntityManager();
+            entityManagers.put(factory, em);
+        }
+        return em;
+    }
+
+    @PreDestroy
+    void close() {
+        entityManagers.values().stream()
+                .filter(EntityManager::isOpen)
+                .forEach(EntityManager::close);
+        entityManagers.clear();
+    }
+}
@@ -16,11 +16,38 @@
 package org.eclipse.jnosql.jakartapersistence.mapping;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Attribute;
 import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.jnosql.communication.Condition;
+import org.eclipse.jnosql.communication.Value;
+import org.eclipse.jnosql.communication.semistructured.CriteriaCondition;
+import org.eclipse.jnosql.communication.semistructured.Element;
 import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseManager;
 
 class BaseQueryParser {
 
+    /**
+     * What's needed to translate a condition: the root of the criteria query, update or delete,
+     * the criteria builder and the parameters created so far.
+     */
+    record CriteriaContext(From<?, ?> root, CriteriaBuilder builder, List<ParameterExpression<?>> parameters) {
+
+    }
+
     protected final PersistenceDatabaseManager manager;
 
     protected BaseQueryParser(PersistenceDatabaseManager manager) {
@@ -35,4 +62,269 @@ class BaseQueryParser {
         return manager.getEntityManager();
     }
 
+    protected <T> String getEntityIdName(EntityType<T> entityType) {
+        SingularAttribute<?, ?> idAttribute = entityType.getId(entityType.getIdType().getJavaType());
+        return idAttribute.getName();
+    }
+
+    record ComparableContext(Path<Comparable> field, ParameterExpression<Comparable> parameter) {
+
+        public static ComparableContext from(Path<Comparable> field, CriteriaContext ctx) {
+            return new ComparableContext(field, parameter(field, ctx));
+        }
+    }
+
+    record BiComparableContext(Path<Comparable> field, ParameterExpression<Comparable> parameter1,
+            ParameterExpression<Comparable> parameter2) {
+
+        public static BiComparableContext from(Path<Comparable> field, CriteriaContext ctx) {
+            return new BiComparableContext(field, parameter(field, ctx), parameter(field, ctx));
+        }
+
+    }
+
+    record MultiValueContext(Path<Object> field, List<ParameterExpression<Object>> parameters) {
+
+        public static MultiValueContext from(Path<Object> field, CriteriaContext ctx, CriteriaCondition criteria) {
+            final int size = QueryShape.paddedSize(elementCollection(criteria).size());
+            List<ParameterExpression<Object>> parameters = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                parameters.add(parameter(field, ctx));
+            }
+            return new MultiValueContext(field, parameters);
+        }
+    }
+
+    /**
+     * Translates a JNoSQL condition to a predicate of a criteria query, update or delete. Values are not
+     * inlined, a parameter is created for each of them in the order in which {@link QueryShape} collects them.
+     */
+    protected Predicate parseCriteria(Object value, CriteriaContext ctx) {
+        if (value instanceof CriteriaCondition criteria) {
+            return switch (criteria.condition()) {
+                case NOT -> {
+                    Object negated = criteria.element().value().get();
+                    if (negated instanceof CriteriaCondition equals && equals.condition() == Condition.EQUALS
+                            && equals.element().value().isNull()) {
+                        yield ctx.builder().isNotNull(field(equals, ctx));
+                    }
+                    yield ctx.builder().not(parseCriteria(criteria.element(), ctx));
+                }
+                case EQUALS -> {
+                    Element element = (Element) criteria.element();
+                    Path<Object> field = field(criteria, ctx);
+                    if (element.value().isNull()) {
+                        yield ctx.builder().isNull(field);
+                    } else {
+                        yield ctx.builder().equal(field, parameter(field, ctx));
+                    }
+                }
+                case AND ->
+                    ctx.builder().and(parseCriteria(elementCollection(criteria), ctx));
+                case OR ->
+                    ctx.builder().or(parseCriteria(elementCollection(criteria), ctx));
+                case LIKE -> {
+                    Expression<String> field = field(criteria, ctx).as(String.class);
+                    yield ctx.builder().like(field, parameter(field, ctx));
+                }
+                case LESSER_THAN -> {
+                    ComparableContext comparableContext = ComparableContext.from(field(criteria, ctx), ctx);
+                    yield ctx.builder().lessThan(comparableContext.field(), comparableContext.parameter());
+                }
+                case LESSER_EQUALS_THAN -> {
+                    ComparableContext comparableContext = ComparableContext.from(field(criteria, ctx), ctx);
+                    yield ctx.builder().lessThanOrEqualTo(comparableContext.field(), comparableContext.parameter());
+                }
+                case GREATER_THAN -> {
+                    ComparableContext comparableContext = ComparableContext.from(field(criteria, ctx), ctx);
+                    yield ctx.builder().greaterThan(comparableContext.field(), comparableContext.parameter());
+                }
+                case GREATER_EQUALS_THAN -> {
+                    ComparableContext comparableContext = ComparableContext.from(field(criteria, ctx), ctx);
+                    yield ctx.builder().greaterThanOrEqualTo(comparableContext.field(), comparableContext.parameter());
+                }
+                case BETWEEN -> {
+                    BiComparableContext comparableContext = BiComparableContext.from(field(criteria, ctx), ctx);
+                    yield ctx.builder().between(comparableContext.field(), comparableContext.parameter1(), comparableContext.parameter2());
+                }
+                case IN -> {
+                    MultiValueContext valueContext = MultiValueContext.from(field(criteria, ctx), ctx, criteria);
+                    CriteriaBuilder.In<Object> inExpr = ctx.builder().in(valueContext.field());
+                    valueContext.parameters().forEach(inExpr::value);
+                    yield inExpr;
+                }
+
+                default ->
+                    throw new UnsupportedOperationException("Not supported yet.");
+            };
+        } else if (value instanceof Element element) {
+            return parseCriteria(element.value().get(), ctx);
+        }
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
+    /**
+     * Translates all the conditions, in order, so that the parameters match the values collected by QueryShape.
+     */
+    private Predicate[] parseCriteria(Collection<?> conditions, CriteriaContext ctx) {
+        return conditions.stream()
+                .map(item -> parseCriteria(item, ctx))
+                .toArray(Predicate[]::new);
+    }
+
+    /**
+     * Resolves the field of a condition, which may be a path to an attribute of an embeddable or
+     * an associated entity.
+     */
+    private <X> Path<X> field(CriteriaCondition criteria, CriteriaContext ctx) {
+        return resolvePath(ctx.root(), criteria.element().name());
+    }
+
+    /**
+     * Creates the next parameter of the query, typed after the field it is compared to. Parameters are named
+     * in the order of creation, which is the order in which {@link QueryShape} collects the values.
+     */
+    static <T> ParameterExpression<T> parameter(Expression<T> field, CriteriaContext ctx) {
+        Class<T> type = parameterType(field.getJavaType());
+        ParameterExpression<T> parameter = ctx.builder().parameter(type, "p" + ctx.parameters().size());
+        ctx.parameters().add(parameter);
+        return parameter;
+    }
+
+    static String getName(Element element) {
+        return attributeName(element.name());
+    }
+
+    static String attributeName(String name) {
+        // NoSQL DBs translate id field into "_id" but we don't want it
+        return name.equals("_id") ? "id" : name;
+    }
+
+    /**
+     * Resolves a possibly dotted attribute path, e.g. {@code address.city}, against the root of the query.
+     * Embedded attributes are navigated with {@link Path#get(String)}, associations and collections are
+     * joined. Joins are reused when the same association is navigated more than once.
+     */
+    <X> Path<X> resolvePath(From<?, ?> root, String name) {
+        String[] segments = attributeName(name).split("\\.");
+        Path<?> path = root;
+        for (int index = 0; index < segments.length - 1; index++) {
+            path = navigate(path, segments[index]);
+        }
+        return path.get(segments[segments.length - 1]);
+    }
+
+    private Path<?> navigate(Path<?> path, String attribute) {
+        if (path instanceof From<?, ?> from) {
+            for (Join<?, ?> join : from.getJoins()) {
+                if (join.getAttribute().getName().equals(attribute)) {
+                    return join;
+                }
+            }
+            Attribute<?, ?> model = entityManager().getMetamodel()
+                    .managedType(from.getJavaType())
+                    .getAttribute(attribute);
+            if (model.isAssociation() || model.isCollection()) {
+                return join(from, attribute);
+            }
+        }
+        return path.get(attribute);
+    }
+
+    /**
+     * Joins the association or collection navigated by a dotted path.
+     */
+    protected Path<?> join(From<?, ?> from, String attribute) {
+        return from.join(attribute, JoinType.LEFT);
+    }
+
+    /**
+     * Whether a collection was joined while resolving paths, in which case an entity may match
+     * more than once and the query must be distinct.
+     */
+    static boolean joinsCollection(From<?, ?> from) {
+        for (Join<?, ?> join : from.getJoins()) {
+            if (join.getAttribute().isCollection() || joinsCollection(join)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits a condition with an IN condition larger than the chunk size into conditions with at most
+     * chunk size distinct values each. Entities matching the resulting conditions don't overlap and together
+     * match the original condition. That's only true if the IN condition is combined with the rest of the
+     * condition with AND, other IN conditions aren't split.
+     */
+    static Optional<List<CriteriaCondition>> splitLargeIn(CriteriaCondition condition, int chunkSize) {
+        if (chunkSize <= 0) {
+            return Optional.empty();
+        }
+        return findLargeIn(condition, chunkSize).map(in -> {
+            final String name = in.element().name();
+            final List<Object> values = elementCollection(in).stream()
+                    .map(QueryShape::unwrap)
+                    .distinct()
+                    .toList();
+            List<CriteriaCondition> conditions = new ArrayList<>();
+            for (int from = 0; from < values.size(); from += chunkSize) {
+                final List<Object> chunk = values.subList(from, Math.min(from + chunkSize, values.size()));
+                conditions.add(replace(condition, in, CriteriaCondition.in(Element.of(name, List.copyOf(chunk)))));
+            }
+            return conditions;
+        });
+    }
+
+    private static Optional<CriteriaCondition> findLargeIn(CriteriaCondition criteria, int chunkSize) {
+        return switch (criteria.condition()) {
+            case IN ->
+                elementCollection(criteria).size() > chunkSize ? Optional.of(criteria) : Optional.empty();
+            case AND ->
+                elementCollection(criteria).stream()
+                        .map(item -> findLargeIn((CriteriaCondition) item, chunkSize))
+                        .flatMap(Optional::stream)
+                        .findFirst();
+            default ->
+                Optional.empty();
+        };
+    }
+
+    private static CriteriaCondition replace(CriteriaCondition criteria, CriteriaCondition target,
+            CriteriaCondition replacement) {
+        if (criteria == target) {
+            return replacement;
+        }
+        if (criteria.condition() == Condition.AND) {
+            return CriteriaCondition.and(elementCollection(criteria).stream()
+                    .map(item -> replace((CriteriaCondition) item, target, replacement))
+                    .toArray(CriteriaCondition[]::new));
+        }
+        return criteria;
+    }
+
+    static Collection<?> elementCollection(CriteriaCondition criteria) {
+        Element element = (Element) criteria.element();
+        return (Collection<?>) element.value().get();
+    }
+
+    /**
+     * Returns the type of a parameter compared to an attribute of the given type.
+     * Parameters can't be of a primitive type, so primitive types are boxed.
+     */
+    static <T> Class<T> parameterType(Class<? extends T> attributeType) {
+        return (Class<T>) MethodType.methodType(attributeType).wrap().returnType();
+    }
+
+    /**
+     * Converts a value coming from a JNoSQL query to the type of the parameter it's bound to,
+     * e.g. an {@code Integer} to a {@code Long} attribute.
+     */
+    static <T> T convert(Object value, Class<T> type) {
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        return Value.of(value).get(type);
+    }
+
 }
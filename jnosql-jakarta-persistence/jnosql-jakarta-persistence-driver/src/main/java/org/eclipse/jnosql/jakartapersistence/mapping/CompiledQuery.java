@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ParameterExpression;
+import java.util.List;
+
+/**
+ * A criteria query translated once and reused for every query of the same shape. Only the values of the
+ * parameters, in the order in which they were created during the translation, change between executions.
+ * If it's registered as a named query, the provider doesn't translate the criteria query again, queries are
+ * created from the named query.
+ */
+record CompiledQuery<R>(CriteriaQuery<R> criteria, List<ParameterExpression<?>> parameters, String name) {
+
+    static final String NAME_PREFIX = "jnosql:";
+
+    TypedQuery<R> createQuery(EntityManager em, List<Object> values) {
+        TypedQuery<R> query = name == null
+                ? em.createQuery(criteria)
+                : em.createNamedQuery(name, criteria.getResultType());
+        bind(query, parameters, values);
+        return query;
+    }
+
+    /**
+     * Registers the query as a named query of the entity manager factory, named after the key of its shape.
+     */
+    CompiledQuery<R> register(EntityManager em, String key) {
+        final String queryName = NAME_PREFIX + key;
+        em.getEntityManagerFactory().addNamedQuery(queryName, em.createQuery(criteria));
+        return new CompiledQuery<>(criteria, parameters, queryName);
+    }
+
+    /**
+     * Binds the values to the parameters of the same index. Parameters are bound by name, so that they
+     * match the parameters of a query created from a named query.
+     */
+    static void bind(Query query, List<ParameterExpression<?>> parameters, List<Object> values) {
+        for (int index = 0; index < parameters.size(); index++) {
+            bind(query, parameters.get(index), values.get(index));
+        }
+    }
+
+    private static <T> void bind(Query query, ParameterExpression<T> parameter, Object value) {
+        query.setParameter(parameter.getName(), BaseQueryParser.convert(value, parameter.getParameterType()));
+    }
+
+}
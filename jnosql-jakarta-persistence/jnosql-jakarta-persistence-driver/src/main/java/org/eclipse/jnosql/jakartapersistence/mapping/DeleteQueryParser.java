@@ -15,18 +15,43 @@
  */
 package org.eclipse.jnosql.jakartapersistence.mapping;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.metamodel.EntityType;
-import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
+import org.eclipse.jnosql.communication.semistructured.CriteriaCondition;
+import org.eclipse.jnosql.communication.semistructured.DeleteQuery;
+import org.eclipse.jnosql.communication.semistructured.Element;
 import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseManager;
 
+/**
+ * Translates deletes into bulk {@link CriteriaDelete} statements. Like any bulk statement, they bypass the
+ * persistence context: cascades and orphan removal aren't applied, lifecycle callbacks aren't called and
+ * the version of versioned entities isn't checked. Pending changes are flushed before the statement runs. After
+ * it, the deleted entities are detached from the persistence context, so that they don't stay managed, and the
+ * entities of the type are evicted from the second-level cache. Other managed entities stay managed. The entities
+ * deleted by a condition can't be told apart, so all the managed entities of the type are detached then.
+ */
 class DeleteQueryParser extends BaseQueryParser {
 
+    private final PersistenceSettings settings;
 
-    public DeleteQueryParser(PersistenceDatabaseManager manager) {
+    public DeleteQueryParser(PersistenceDatabaseManager manager, PersistenceSettings settings) {
         super(manager);
+        this.settings = settings;
     }
 
     public <T, K> void delete(Class<T> type, K key) {
@@ -34,16 +59,89 @@ class DeleteQueryParser extends BaseQueryParser {
         CriteriaDelete<T> deleteCriteria = criteriaBuilder.createCriteriaDelete(type);
         Root<?> root = deleteCriteria.from(type);
         String entityIdName = getEntityIdName(type);
-        deleteCriteria.where(criteriaBuilder.equal(root.get(entityIdName), key));
-        entityManager().createQuery(deleteCriteria).executeUpdate();
+        Path<Object> idPath = root.get(entityIdName);
+        ParameterExpression<Object> idParameter = criteriaBuilder.parameter(parameterType(idPath.getJavaType()), "id");
+        deleteCriteria.where(criteriaBuilder.equal(idPath, idParameter));
+        final Object id = convert(key, idParameter.getParameterType());
+        execute(type, entityManager().createQuery(deleteCriteria).setParameter(idParameter, id), withIds(Set.of(id)));
     }
 
-    private <T> String getEntityIdName(Class<T> type) {
-        EntityType<T> entityType = entityManager().getMetamodel().entity(type);
-        SingularAttribute<?, ?> idAttribute = entityType.getId(entityType.getIdType().getJavaType());
-        String entityIdName = idAttribute.getName();
-        return entityIdName;
+    public void delete(DeleteQuery query) {
+        final EntityType<?> entityType = findEntityType(query.name());
+        deleteWhere(entityType.getJavaType(), query.condition(), entity -> true);
+    }
+
+    public <T> void deleteAll(Class<T> type) {
+        deleteWhere(type, Optional.empty(), entity -> true);
+    }
+
+    /**
+     * Deletes the entities with the given ids with a single IN delete, or a few if there are more ids
+     * than the configured IN chunk size.
+     */
+    public <T, K> void deleteByIds(Class<T> type, Iterable<K> keys) {
+        List<Object> ids = new ArrayList<>();
+        StreamSupport.stream(keys.spliterator(), false).forEach(ids::add);
+        if (ids.isEmpty()) {
+            return;
+        }
+        final CriteriaCondition idIn = CriteriaCondition.in(Element.of(getEntityIdName(type), ids));
+        final Class<?> idType = parameterType(entityManager().getMetamodel().entity(type).getIdType().getJavaType());
+        final Set<Object> deletedIds = new HashSet<>();
+        ids.forEach(id -> deletedIds.add(convert(id, idType)));
+        deleteWhere(type, Optional.of(idIn), withIds(deletedIds));
+    }
+
+    private <T> void deleteWhere(Class<T> type, Optional<CriteriaCondition> condition, Predicate<Object> deleted) {
+        Optional<List<CriteriaCondition>> chunks = condition
+                .flatMap(criteria -> splitLargeIn(criteria, settings.inChunkSize()));
+        if (chunks.isPresent()) {
+            chunks.get().forEach(chunk -> deleteWhere(type, Optional.of(chunk), deleted));
+            return;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager().getCriteriaBuilder();
+        CriteriaDelete<T> deleteCriteria = criteriaBuilder.createCriteriaDelete(type);
+        Root<T> root = deleteCriteria.from(type);
+        List<ParameterExpression<?>> parameters = new ArrayList<>();
+        condition.ifPresent(criteria -> deleteCriteria.where(
+                parseCriteria(criteria, new CriteriaContext(root, criteriaBuilder, parameters))));
+        final QueryShape shape = QueryShape.of("delete", type.getName(), condition, List.of(), false);
+        var deleteQuery = entityManager().createQuery(deleteCriteria);
+        CompiledQuery.bind(deleteQuery, parameters, shape.values());
+        execute(type, deleteQuery, deleted);
+    }
+
+    /**
+     * Runs the delete and detaches the managed entities of the type matched by {@code deleted}. The persistence
+     * context isn't cleared, changes of the other managed entities are still written when the transaction commits.
+     */
+    private void execute(Class<?> type, Query deleteQuery, Predicate<Object> deleted) {
+        final EntityManager em = entityManager();
+        if (em.isJoinedToTransaction()) {
+            em.flush();
+        }
+        deleteQuery.executeUpdate();
+        ProviderSupport.managedEntities(em, type).stream().filter(deleted).forEach(em::detach);
+        em.getEntityManagerFactory().getCache().evict(type);
+    }
+
+    private Predicate<Object> withIds(Set<Object> ids) {
+        final PersistenceUnitUtil util = entityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        return entity -> ids.contains(util.getIdentifier(entity));
     }
 
+    /**
+     * A criteria delete can't join, only attributes of the entity and of its embeddables can be compared.
+     */
+    @Override
+    protected Path<?> join(From<?, ?> from, String attribute) {
+        throw new UnsupportedOperationException("The delete of " + from.getJavaType().getName()
+                + " can't navigate the association " + attribute + ", a bulk delete can only compare attributes"
+                + " of the entity and of its embeddables");
+    }
+
+    private <T> String getEntityIdName(Class<T> type) {
+        return getEntityIdName(entityManager().getMetamodel().entity(type));
+    }
 
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites a JPQL select query to a query that counts its results, e.g. {@code SELECT p FROM Person p
+ * WHERE p.age > :age ORDER BY p.name} to {@code SELECT COUNT(p) FROM Person p WHERE p.age > :age}.
+ * Only queries that select an identification variable are rewritten. Queries that select attributes, which
+ * {@code COUNT} would skip if they're null, several or computed values, group the results or fetch joins,
+ * which aren't allowed in a count query, are not rewritten.
+ */
+final class JpqlCountQuery {
+
+    private static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
+
+    private static final Pattern SELECT = Pattern.compile("^SELECT\\s+(DISTINCT\\s+)?(\\w+)$", FLAGS);
+
+    private static final Pattern COUNT = Pattern.compile("^\\s*SELECT\\s+COUNT\\s*\\(", FLAGS);
+
+    private static final Pattern FROM = Pattern.compile("\\bFROM\\b", FLAGS);
+
+    private static final Pattern ALIAS = Pattern.compile("^FROM\\s+[\\w.$]+(?:\\s+(?:AS\\s+)?(\\w+))?", FLAGS);
+
+    private static final Pattern CLAUSE = Pattern.compile("WHERE|JOIN|LEFT|INNER|ORDER|GROUP|HAVING", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ORDER_BY = Pattern.compile("\\bORDER\\s+BY\\b", FLAGS);
+
+    private static final Pattern GROUP_BY = Pattern.compile("\\bGROUP\\s+BY\\b", FLAGS);
+
+    private static final Pattern FETCH = Pattern.compile("\\bFETCH\\b", FLAGS);
+
+    private JpqlCountQuery() {
+    }
+
+    /**
+     * Whether the query already counts, i.e. it selects {@code COUNT(...)}.
+     */
+    static boolean isCount(String jpql) {
+        return COUNT.matcher(jpql).find();
+    }
+
+    static Optional<String> of(String jpql) {
+        // keywords in string literals don't count
+        final String masked = maskLiterals(jpql);
+        final Matcher from = FROM.matcher(masked);
+        if (!from.find() || GROUP_BY.matcher(masked).find() || FETCH.matcher(masked).find()) {
+            return Optional.empty();
+        }
+        final Matcher orderBy = ORDER_BY.matcher(masked);
+        final int end = orderBy.find(from.end()) ? orderBy.start() : jpql.length();
+        final String fromClause = jpql.substring(from.start(), end).trim();
+        final String selectClause = jpql.substring(0, from.start()).trim();
+        final String counted;
+        if (selectClause.isEmpty()) {
+            counted = alias(fromClause);
+        } else {
+            final Matcher select = SELECT.matcher(selectClause);
+            if (!select.matches()) {
+                return Optional.empty();
+            }
+            counted = (select.group(1) == null ? "" : "DISTINCT ") + select.group(2);
+        }
+        return Optional.of("SELECT COUNT(" + counted + ") " + fromClause);
+    }
+
+    /**
+     * The identification variable of the entity in the FROM clause, or {@code this} if it's implicit.
+     */
+    private static String alias(String fromClause) {
+        final Matcher alias = ALIAS.matcher(fromClause);
+        if (alias.find() && alias.group(1) != null && !CLAUSE.matcher(alias.group(1)).matches()) {
+            return alias.group(1);
+        }
+        return "this";
+    }
+
+    private static String maskLiterals(String jpql) {
+        final StringBuilder masked = new StringBuilder(jpql);
+        boolean literal = false;
+        for (int index = 0; index < masked.length(); index++) {
+            if (masked.charAt(index) == '\'') {
+                literal = !literal;
+            } else if (literal) {
+                masked.setCharAt(index, ' ');
+            }
+        }
+        return masked.toString();
+    }
+}
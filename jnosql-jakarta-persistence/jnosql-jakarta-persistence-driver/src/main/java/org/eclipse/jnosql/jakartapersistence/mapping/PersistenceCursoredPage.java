@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import jakarta.data.page.CursoredPage;
+import jakarta.data.page.PageRequest;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * A page of entities with a cursor for each of them, created by {@link SelectQueryParser#selectCursor}.
+ * The total is negative if it wasn't requested.
+ */
+record PersistenceCursoredPage<T>(List<T> content, List<PageRequest.Cursor> cursors, PageRequest pageRequest,
+        boolean hasNext, boolean hasPrevious, long total) implements CursoredPage<T> {
+
+    @Override
+    public boolean hasContent() {
+        return !content.isEmpty();
+    }
+
+    @Override
+    public int numberOfElements() {
+        return content.size();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return content.stream();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    @Override
+    public PageRequest.Cursor cursor(int index) {
+        if (index < 0 || index >= cursors.size()) {
+            throw new IndexOutOfBoundsException("There is no cursor at index " + index + " of a page with "
+                    + cursors.size() + " elements");
+        }
+        return cursors.get(index);
+    }
+
+    @Override
+    public PageRequest nextPageRequest() {
+        if (!hasNext || content.isEmpty()) {
+            throw new NoSuchElementException("There is no next page");
+        }
+        return PageRequest.afterCursor(cursors.get(cursors.size() - 1), pageRequest.page() + 1,
+                pageRequest.size(), pageRequest.requestTotal());
+    }
+
+    @Override
+    public PageRequest previousPageRequest() {
+        if (!hasPrevious || content.isEmpty()) {
+            throw new NoSuchElementException("There is no previous page");
+        }
+        return PageRequest.beforeCursor(cursors.get(0), Math.max(1, pageRequest.page() - 1),
+                pageRequest.size(), pageRequest.requestTotal());
+    }
+
+    @Override
+    public boolean hasTotals() {
+        return total >= 0;
+    }
+
+    @Override
+    public long totalElements() {
+        if (!hasTotals()) {
+            throw new IllegalStateException("The total wasn't requested by the page request");
+        }
+        return total;
+    }
+
+    @Override
+    public long totalPages() {
+        final long size = pageRequest.size();
+        return (totalElements() + size - 1) / size;
+    }
+
+}
@@ -15,9 +15,11 @@
 package org.eclipse.jnosql.jakartapersistence.mapping;
 
 
+import org.eclipse.jnosql.jakartapersistence.communication.PersistenceConfigurations;
 import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseManager;
 import jakarta.annotation.Priority;
 import jakarta.data.page.CursoredPage;
+import jakarta.data.page.Page;
 import jakarta.data.page.PageRequest;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Alternative;
@@ -26,8 +28,14 @@ import jakarta.inject.Inject;
 import jakarta.interceptor.Interceptor;
 import jakarta.nosql.QueryMapper;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 import org.eclipse.jnosql.communication.semistructured.DeleteQuery;
 import org.eclipse.jnosql.communication.semistructured.SelectQuery;
@@ -44,20 +52,128 @@ import org.eclipse.jnosql.mapping.document.DocumentTemplate;
 public class PersistenceDocumentTemplate implements DocumentTemplate {
 
     private final PersistenceDatabaseManager manager;
+    private final PersistenceSettings settings;
+    private final QueryCache queryCache;
     private final SelectQueryParser selectParser;
     private final DeleteQueryParser deleteParser;
+    private final UpdateQueryParser updateParser;
+    private final SelectQueryParser replicaParser;
+    private final PersistenceDatabaseManager replicaManager;
+    private PersistenceDocumentTemplate replicaTemplate;
 
     @Inject
     PersistenceDocumentTemplate(PersistenceDatabaseManager manager) {
+        this(manager, PersistenceSettings.load());
+    }
+
+    PersistenceDocumentTemplate(PersistenceDatabaseManager manager, PersistenceSettings settings) {
         this.manager = manager;
-        this.selectParser = new SelectQueryParser(manager);
-        this.deleteParser = new DeleteQueryParser(manager);
+        this.settings = settings;
+        this.queryCache = new QueryCache(settings.queryCacheSize());
+        this.selectParser = new SelectQueryParser(manager, queryCache, settings);
+        this.deleteParser = new DeleteQueryParser(manager, settings);
+        this.updateParser = new UpdateQueryParser(manager);
+        this.replicaParser = null;
+        this.replicaManager = null;
+    }
+
+    private PersistenceDocumentTemplate(PersistenceDocumentTemplate primary, PersistenceDatabaseManager replica) {
+        this.manager = primary.manager;
+        this.settings = primary.settings;
+        this.queryCache = primary.queryCache;
+        this.selectParser = primary.selectParser;
+        this.deleteParser = primary.deleteParser;
+        this.updateParser = primary.updateParser;
+        // criteria queries are tied to the entity manager factory they're built with, the replica has its own cache
+        this.replicaParser = new SelectQueryParser(replica, new QueryCache(settings.queryCacheSize()), settings);
+        this.replicaManager = replica;
     }
 
     PersistenceDocumentTemplate() {
         manager = null;
+        settings = null;
+        queryCache = null;
         selectParser = null;
         deleteParser = null;
+        updateParser = null;
+        replicaParser = null;
+        replicaManager = null;
+    }
+
+    /**
+     * Returns a template that runs the find, select, count and exists calls against the read replica configured
+     * with {@link PersistenceConfigurations#READ_PERSISTENCE_UNIT}, except for calls that take part in a transaction
+     * of the primary persistence unit. All the other calls, including JPQL queries, go to the primary persistence
+     * unit like with this template.
+     *
+     * @return the template reading from the read replica
+     * @throws IllegalStateException if no read replica is configured
+     */
+    public synchronized PersistenceDocumentTemplate readingFromReplica() {
+        if (replicaTemplate == null) {
+            final PersistenceDatabaseManager replica = manager.readReplica()
+                    .orElseThrow(() -> new IllegalStateException("No read replica is configured, set the persistence unit with "
+                            + PersistenceConfigurations.READ_PERSISTENCE_UNIT.get()));
+            replicaTemplate = new PersistenceDocumentTemplate(this, replica);
+        }
+        return replicaTemplate;
+    }
+
+    /**
+     * Returns the parser of the reads of a call. Reads from the replica start with a cleared persistence context,
+     * so that they never return the entities read by an earlier call, which may have been replicated since.
+     */
+    private SelectQueryParser reads() {
+        if (replicaParser == null || manager.isInTransaction()) {
+            return selectParser;
+        }
+        replicaManager.clear();
+        return replicaParser;
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the cache of compiled criteria queries.
+     * The size of the cache is configured with {@link PersistenceConfigurations#QUERY_CACHE_SIZE}.
+     *
+     * @return a snapshot of the query cache counters
+     */
+    public QueryCacheStatistics queryCacheStatistics() {
+        return queryCache.statistics();
+    }
+
+    /**
+     * The operations a query can be translated for in advance with {@link #precompile(SelectQuery, Operation)}.
+     */
+    public enum Operation {
+        SELECT, COUNT, EXISTS
+    }
+
+    /**
+     * Translates the query for the operation without executing it, so that later queries of the same shape
+     * find it in the query cache and, if {@link PersistenceConfigurations#WARMUP} is enabled, as a named query.
+     *
+     * @param selectQuery the query, its values only determine the shape, e.g. the number of IN values
+     * @param operation   the operation the query is translated for
+     */
+    public void precompile(SelectQuery selectQuery, Operation operation) {
+        switch (operation) {
+            case SELECT -> reads().buildSelectQuery(selectQuery);
+            case COUNT -> reads().buildCountQuery(selectQuery);
+            case EXISTS -> reads().buildExistsQuery(selectQuery);
+        }
+    }
+
+    /**
+     * Parses the JPQL query of a repository method without executing it, so that an invalid query fails before
+     * the first call. It's also registered as a named query, which the prepared statements of the same JPQL use,
+     * like the JPQL of any prepared statement on its first execution. JPQL queries always run against the primary
+     * persistence unit.
+     *
+     * @param jpql the JPQL query of a repository method annotated with {@code jakarta.data.repository.Query}
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public void precompile(String jpql) {
+        selectParser.registerQuery(jpql);
     }
 
     private EntityManager entityManager() {
@@ -66,17 +182,17 @@ public class PersistenceDocumentTemplate implements DocumentTemplate {
 
     @Override
     public long count(String entity) {
-        return selectParser.count(entity);
+        return reads().count(entity);
     }
 
     @Override
     public <T> long count(Class<T> type) {
-        return selectParser.count(type);
+        return reads().count(type);
     }
 
     @Override
     public <T> Stream<T> findAll(Class<T> type) {
-        return selectParser.findAll(type);
+        return reads().findAll(type);
     }
 
     @Override
@@ -101,7 +217,7 @@ public class PersistenceDocumentTemplate implements DocumentTemplate {
 
     @Override
     public <T, K> Optional<T> find(Class<T> type, K k) {
-        return selectParser.find(type, k);
+        return reads().find(type, k);
     }
 
     @Override
@@ -115,6 +231,28 @@ public class PersistenceDocumentTemplate implements DocumentTemplate {
         return entityManager().merge(t);
     }
 
+    /**
+     * Sets the given attributes of the entity with the given id with a single update statement. Unlike
+     * {@link #update(Object)}, the entity isn't loaded or merged, only the given columns are written.
+     * An entity already loaded in the persistence context isn't refreshed and the version of a versioned
+     * entity isn't checked or incremented.
+     *
+     * @param type       the entity type
+     * @param key        the id of the entity to update
+     * @param attributes the new values by the name of the attribute
+     * @param <T>        the entity type
+     * @param <K>        the id type
+     * @return the number of updated entities, 0 if there's no entity with the id
+     */
+    public <T, K> int update(Class<T> type, K key, Map<String, ?> attributes) {
+        Objects.requireNonNull(key, "key is required");
+        Objects.requireNonNull(attributes, "attributes is required");
+        if (attributes.isEmpty()) {
+            throw new IllegalArgumentException("At least one attribute to update is required");
+        }
+        return updateParser.update(type, key, attributes);
+    }
+
     @Override
     public PreparedStatement prepare(String query, String entity) {
         return prepare(query);
@@ -127,37 +265,98 @@ public class PersistenceDocumentTemplate implements DocumentTemplate {
 
     @Override
     public void delete(DeleteQuery query) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        deleteParser.delete(query);
     }
 
     @Override
     public <T> Stream<T> select(SelectQuery selectQuery) {
-        return selectParser.select(selectQuery);
+        return reads().select(selectQuery);
+    }
+
+    /**
+     * Selects the entities with the hints of a repository method applied to the query.
+     */
+    public <T> Stream<T> select(SelectQuery selectQuery, PersistenceHints hints) {
+        return reads().select(selectQuery, hints);
+    }
+
+    /**
+     * Selects the columns of the query into instances of a record or another class with a constructor
+     * that takes the columns in the same order. If the query has no columns, the components of the
+     * record are selected. The instances are not managed by the persistence context.
+     */
+    public <R> Stream<R> select(SelectQuery selectQuery, Class<R> type) {
+        return reads().select(selectQuery, type);
+    }
+
+    /**
+     * Selects the columns into instances of the type with the hints of a repository method applied to the query.
+     */
+    public <R> Stream<R> select(SelectQuery selectQuery, Class<R> type, PersistenceHints hints) {
+        return reads().select(selectQuery, type, hints);
     }
 
     @Override
     public <T> Optional<T> singleResult(SelectQuery selectQuery) {
-        return selectParser.singleResult(selectQuery);
+        return reads().singleResult(selectQuery);
     }
 
     @Override
     public long count(SelectQuery selectQuery) {
-        return selectParser.count(selectQuery);
+        return reads().count(selectQuery);
+    }
+
+    /**
+     * Counts the entities with the hints of a repository method applied to the query.
+     */
+    public long count(SelectQuery selectQuery, PersistenceHints hints) {
+        return reads().count(selectQuery, hints);
     }
 
     @Override
     public boolean exists(SelectQuery query) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return reads().exists(query);
+    }
+
+    /**
+     * Checks whether an entity matches the query with the hints of a repository method applied to the query.
+     */
+    public boolean exists(SelectQuery query, PersistenceHints hints) {
+        return reads().exists(query, hints);
     }
 
     @Override
     public <T> void deleteAll(Class<T> type) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        deleteParser.deleteAll(type);
+    }
+
+    /**
+     * Selects a page of entities with the offset of the page request. If the total is requested, the count query
+     * runs concurrently with the query of the entities, on another thread with its own entity manager, unless
+     * the call takes part in a transaction. Request the page with {@link PageRequest#withoutTotal()} to skip the
+     * count query.
+     *
+     * @param query       the query of the entities, without paging
+     * @param pageRequest the page request, in the offset mode
+     * @param <T>         the entity type
+     * @return the page of entities
+     */
+    public <T> Page<T> selectPage(SelectQuery query, PageRequest pageRequest) {
+        return selectPage(query, pageRequest, null);
+    }
+
+    /**
+     * Selects a page of entities like {@link #selectPage(SelectQuery, PageRequest)}, with the hints of a repository
+     * method applied to the query of the entities and to the count query.
+     */
+    public <T> Page<T> selectPage(SelectQuery query, PageRequest pageRequest, PersistenceHints hints) {
+        Objects.requireNonNull(pageRequest, "pageRequest is required");
+        return reads().selectPage(query, pageRequest, hints);
     }
 
     @Override
     public <T> CursoredPage<T> selectCursor(SelectQuery query, PageRequest pageRequest) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return reads().selectCursor(query, pageRequest);
     }
 
     @Override
@@ -166,8 +365,11 @@ public class PersistenceDocumentTemplate implements DocumentTemplate {
     }
 
     @Override
-    public <T> Iterable<T> insert(Iterable<T> itrbl) {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public <T> Iterable<T> insert(Iterable<T> entities) {
+        return batch(entities, entity -> {
+            entityManager().persist(entity);
+            return entity;
+        });
     }
 
     @Override
@@ -176,8 +378,33 @@ public class PersistenceDocumentTemplate implements DocumentTemplate {
     }
 
     @Override
-    public <T> Iterable<T> update(Iterable<T> itrbl) {
-        throw new UnsupportedOperationException("Not supported yet.");
+    public <T> Iterable<T> update(Iterable<T> entities) {
+        return batch(entities, entity -> entityManager().merge(entity));
+    }
+
+    /**
+     * Applies the operation to all entities. Within a transaction, the persistence context is flushed and
+     * cleared after each batch of entities, so that the statements are sent to the database in JDBC batches
+     * and the persistence context doesn't grow with the number of entities. Entities of the previous
+     * batches are detached when the operation returns.
+     */
+    private <T> Iterable<T> batch(Iterable<T> entities, UnaryOperator<T> operation) {
+        Objects.requireNonNull(entities, "entities is required");
+        final EntityManager em = entityManager();
+        final int batchSize = settings.batchSize();
+        final boolean flush = batchSize > 0 && em.isJoinedToTransaction();
+        if (flush) {
+            ProviderSupport.setJdbcBatchSize(em, batchSize);
+        }
+        List<T> result = new ArrayList<>();
+        for (T entity : entities) {
+            result.add(operation.apply(entity));
+            if (flush && result.size() % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        return result;
     }
 
     @Override
@@ -185,6 +412,35 @@ public class PersistenceDocumentTemplate implements DocumentTemplate {
         deleteParser.delete(type, key);
     }
 
+    /**
+     * Deletes the entities with the given ids in bulk, with a single IN delete statement unless there are
+     * more ids than the configured IN chunk size.
+     *
+     * @param type the entity type
+     * @param keys the ids of the entities to delete
+     * @param <T>  the entity type
+     * @param <K>  the id type
+     */
+    public <T, K> void deleteByIds(Class<T> type, Iterable<K> keys) {
+        Objects.requireNonNull(keys, "keys is required");
+        deleteParser.deleteByIds(type, keys);
+    }
+
+    /**
+     * Deletes the given entities in bulk by their ids, see {@link #deleteByIds(Class, Iterable)}.
+     *
+     * @param type     the entity type
+     * @param entities the entities to delete
+     * @param <T>      the entity type
+     */
+    public <T> void deleteAll(Class<T> type, Iterable<? extends T> entities) {
+        Objects.requireNonNull(entities, "entities is required");
+        final PersistenceUnitUtil util = entityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Object> ids = new ArrayList<>();
+        entities.forEach(entity -> ids.add(util.getIdentifier(entity)));
+        deleteByIds(type, ids);
+    }
+
     @Override
     public <T> QueryMapper.MapperFrom select(Class<T> type) {
         throw new UnsupportedOperationException("Not supported yet.");
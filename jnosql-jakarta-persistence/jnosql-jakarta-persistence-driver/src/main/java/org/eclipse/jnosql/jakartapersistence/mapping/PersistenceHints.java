@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.QueryHint;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tunes the queries of a repository find, count or exists method derived from the method name. Only the hints
+ * that are set are applied, to the {@link jakarta.persistence.TypedQuery} that selects the entities and to the
+ * count query of a page. Hints that only apply to entities, e.g. {@link #readOnly()} or {@link #entityGraph()},
+ * aren't applied to count, exists and projection queries. Standard hints are set with their
+ * {@code jakarta.persistence} names, hints specific to a provider only for Hibernate and EclipseLink.
+ *
+ * <pre>{@code
+ * @PersistenceHints(readOnly = true, fetchSize = 500, entityGraph = "Person.phones")
+ * List<Person> findByAgeGreaterThan(long age);
+ * }</pre>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PersistenceHints {
+
+    /**
+     * Loads the entities as read-only, without the snapshot kept to detect changes. Changes of the entities
+     * are not written to the database. Only supported with Hibernate and EclipseLink.
+     */
+    boolean readOnly() default false;
+
+    /**
+     * The number of rows fetched from the database at once by the JDBC driver. A value of 0 keeps the default.
+     * Only supported with Hibernate and EclipseLink.
+     */
+    int fetchSize() default 0;
+
+    /**
+     * The query timeout in milliseconds. A value of 0 means no timeout.
+     */
+    int timeout() default 0;
+
+    /**
+     * Whether the results of the query are cached in the query results cache of the provider.
+     * Only supported with Hibernate and EclipseLink.
+     */
+    boolean cacheResults() default false;
+
+    /**
+     * Whether the entities are read from the second-level cache, at most one mode. If not set, the mode of the
+     * entity manager or the persistence unit applies.
+     */
+    CacheRetrieveMode[] cacheRetrieveMode() default {};
+
+    /**
+     * The name of the entity graph used as a fetch graph, so that the associations in the graph are loaded
+     * with the entities instead of by a query for each entity.
+     */
+    String entityGraph() default "";
+
+    /**
+     * Other hints, passed to the query as they are.
+     */
+    QueryHint[] hints() default {};
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import jakarta.data.page.Page;
+import jakarta.data.page.PageRequest;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * A page of entities read with an offset, created by {@link SelectQueryParser#selectPage}.
+ * The total is negative if it wasn't requested.
+ */
+record PersistencePage<T>(List<T> content, PageRequest pageRequest, boolean hasNext, long total) implements Page<T> {
+
+    @Override
+    public boolean hasContent() {
+        return !content.isEmpty();
+    }
+
+    @Override
+    public int numberOfElements() {
+        return content.size();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return content.stream();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return pageRequest.page() > 1;
+    }
+
+    @Override
+    public PageRequest nextPageRequest() {
+        if (!hasNext) {
+            throw new NoSuchElementException("There is no next page");
+        }
+        return pageRequest.next();
+    }
+
+    @Override
+    public PageRequest previousPageRequest() {
+        if (!hasPrevious()) {
+            throw new NoSuchElementException("There is no previous page");
+        }
+        return pageRequest.previous();
+    }
+
+    @Override
+    public boolean hasTotals() {
+        return total >= 0;
+    }
+
+    @Override
+    public long totalElements() {
+        if (!hasTotals()) {
+            throw new IllegalStateException("The total wasn't requested by the page request");
+        }
+        return total;
+    }
+
+    @Override
+    public long totalPages() {
+        final long size = pageRequest.size();
+        return (totalElements() + size - 1) / size;
+    }
+
+}
@@ -15,27 +15,36 @@
  */
 package org.eclipse.jnosql.jakartapersistence.mapping;
 
+import jakarta.persistence.Parameter;
 import jakarta.persistence.Query;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import org.eclipse.jnosql.mapping.PreparedStatement;
 
 /**
+ * A JPQL query with parameters. The JPQL is registered as a named query on its first execution, later executions
+ * of the same JPQL only create the named query and bind the parameters. The result of an update or
+ * delete statement is the number of updated or deleted entities.
  *
  * @author Ondro Mihalyi
  */
 class PersistencePreparedStatement implements PreparedStatement {
 
+    private static final Pattern UPDATE = Pattern.compile("^\\s*(UPDATE|DELETE)\\b", Pattern.CASE_INSENSITIVE);
+
     private final String queryString;
     private final SelectQueryParser selectParser;
-    private Map<String, Object> parameters = new HashMap<>();
+    private final Map<String, Object> parameters = new HashMap<>();
+    private final boolean update;
+    private Optional<String> countQuery;
 
     public PersistencePreparedStatement(String queryString, final SelectQueryParser selectParser) {
         this.selectParser = selectParser;
         this.queryString = queryString;
+        this.update = UPDATE.matcher(queryString).find();
     }
 
     private void applyParameters(Query query) {
@@ -51,34 +60,59 @@ class PersistencePreparedStatement implements PreparedStatement {
     @Override
     public <T> Stream<T> result() {
         Query query = createQuery();
-        try {
-            return query.getResultStream();
-        } catch (IllegalStateException e) {
-            return IntStream.rangeClosed(1, query.executeUpdate())
-                    .mapToObj(i -> (T)Integer.valueOf(i));
+        if (update) {
+            return Stream.of((T) Integer.valueOf(query.executeUpdate()));
         }
+        return query.getResultStream();
     }
 
     @Override
     public <T> Optional<T> singleResult() {
         Query query = createQuery();
+        if (update) {
+            return Optional.of((T) Integer.valueOf(query.executeUpdate()));
+        }
         return Optional.ofNullable((T) query.getSingleResultOrNull());
     }
 
     private Query createQuery() {
-        Query query = selectParser.buildQuery(queryString);
+        Query query = selectParser.buildCachedQuery(queryString);
         applyParameters(query);
         return query;
     }
 
+    /**
+     * Counts the results with a count query rewritten from the query, e.g. {@code SELECT COUNT(p) FROM Person p}
+     * for {@code SELECT p FROM Person p ORDER BY p.name}. Queries that can't be rewritten are executed and
+     * their results counted.
+     */
     @Override
     public long count() {
-        throw new UnsupportedOperationException("Not supported yet.");
+        if (update) {
+            throw new UnsupportedOperationException("The results of an update can't be counted: " + queryString);
+        }
+        if (isCount()) {
+            return singleResult().map(count -> ((Number) count).longValue()).orElse(0L);
+        }
+        if (countQuery == null) {
+            countQuery = JpqlCountQuery.of(queryString);
+        }
+        if (countQuery.isEmpty()) {
+            return result().count();
+        }
+        Query query = selectParser.buildCachedQuery(countQuery.get());
+        // parameters only used in the removed ORDER BY clause are not in the count query
+        for (Parameter<?> parameter : query.getParameters()) {
+            if (parameters.containsKey(parameter.getName())) {
+                query.setParameter(parameter.getName(), parameters.get(parameter.getName()));
+            }
+        }
+        return ((Number) query.getSingleResult()).longValue();
     }
 
     @Override
     public boolean isCount() {
-        return false;
+        return JpqlCountQuery.isCount(queryString);
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import java.util.function.Supplier;
+import org.eclipse.jnosql.jakartapersistence.communication.PersistenceConfigurations;
+import org.eclipse.jnosql.mapping.core.config.MicroProfileSettings;
+
+/**
+ * The values of {@link PersistenceConfigurations} used by the query parsers.
+ */
+record PersistenceSettings(int queryCacheSize, int inChunkSize, int streamFetchSize, int batchSize,
+        boolean namedQueries) {
+
+    static final PersistenceSettings DEFAULT = new PersistenceSettings(256, 512, 0, 50, false);
+
+    PersistenceSettings(int queryCacheSize, int inChunkSize, int streamFetchSize, int batchSize) {
+        this(queryCacheSize, inChunkSize, streamFetchSize, batchSize, false);
+    }
+
+    static PersistenceSettings load() {
+        return new PersistenceSettings(
+                get(PersistenceConfigurations.QUERY_CACHE_SIZE, DEFAULT.queryCacheSize()),
+                get(PersistenceConfigurations.IN_CHUNK_SIZE, DEFAULT.inChunkSize()),
+                get(PersistenceConfigurations.STREAM_FETCH_SIZE, DEFAULT.streamFetchSize()),
+                get(PersistenceConfigurations.BATCH_SIZE, DEFAULT.batchSize()),
+                MicroProfileSettings.INSTANCE.get(PersistenceConfigurations.WARMUP.get(), Boolean.class)
+                        .orElse(DEFAULT.namedQueries()));
+    }
+
+    private static int get(Supplier<String> configuration, int defaultValue) {
+        return MicroProfileSettings.INSTANCE.get(configuration.get(), Integer.class).orElse(defaultValue);
+    }
+
+}
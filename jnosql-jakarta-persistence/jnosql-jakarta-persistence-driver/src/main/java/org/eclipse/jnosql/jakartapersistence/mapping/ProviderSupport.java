@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.TypedQuery;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Features of specific Jakarta Persistence providers that aren't available via the standard API.
+ * The driver doesn't depend on any provider, so they are detected and accessed by name.
+ */
+final class ProviderSupport {
+
+    private static final Logger LOGGER = Logger.getLogger(ProviderSupport.class.getName());
+
+    static final String HIBERNATE_FETCH_SIZE = "org.hibernate.fetchSize";
+
+    private static final String HIBERNATE_READ_ONLY = "org.hibernate.readOnly";
+
+    private static final String HIBERNATE_CACHEABLE = "org.hibernate.cacheable";
+
+    private static final String ECLIPSELINK_FETCH_SIZE = "eclipselink.jdbc.fetch-size";
+
+    private static final String ECLIPSELINK_READ_ONLY = "eclipselink.read-only";
+
+    private static final String ECLIPSELINK_RESULTS_CACHE = "eclipselink.query-results-cache";
+
+    private static final String TIMEOUT = "jakarta.persistence.query.timeout";
+
+    private static final String CACHE_RETRIEVE_MODE = "jakarta.persistence.cache.retrieveMode";
+
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    private ProviderSupport() {
+    }
+
+    static boolean isHibernate(EntityManager em) {
+        return em.getEntityManagerFactory().getClass().getName().startsWith("org.hibernate.");
+    }
+
+    static boolean isEclipseLink(EntityManager em) {
+        return em.getEntityManagerFactory().getClass().getName().startsWith("org.eclipse.persistence.");
+    }
+
+    /**
+     * Applies the hints of a repository method to a query that selects entities. Only the hints set in the
+     * annotation are applied. Standard hints are set with their {@code jakarta.persistence} names, the other hints
+     * with the names of Hibernate or EclipseLink, and not at all with other providers.
+     */
+    static void applyHints(EntityManager em, TypedQuery<?> query, PersistenceHints hints) {
+        if (hints == null) {
+            return;
+        }
+        if (hints.readOnly()) {
+            setProviderHint(em, query, HIBERNATE_READ_ONLY, ECLIPSELINK_READ_ONLY, true);
+        }
+        for (CacheRetrieveMode mode : hints.cacheRetrieveMode()) {
+            query.setHint(CACHE_RETRIEVE_MODE, mode);
+        }
+        if (!hints.entityGraph().isEmpty()) {
+            query.setHint(FETCH_GRAPH, em.getEntityGraph(hints.entityGraph()));
+        }
+        applyScalarHints(em, query, hints);
+    }
+
+    /**
+     * Applies the hints of a repository method that don't depend on the results being entities, to the count,
+     * exists and projection queries of the method.
+     */
+    static void applyScalarHints(EntityManager em, TypedQuery<?> query, PersistenceHints hints) {
+        if (hints == null) {
+            return;
+        }
+        if (hints.fetchSize() > 0) {
+            setProviderHint(em, query, HIBERNATE_FETCH_SIZE, ECLIPSELINK_FETCH_SIZE, hints.fetchSize());
+        }
+        if (hints.timeout() > 0) {
+            query.setHint(TIMEOUT, hints.timeout());
+        }
+        if (hints.cacheResults()) {
+            setProviderHint(em, query, HIBERNATE_CACHEABLE, ECLIPSELINK_RESULTS_CACHE, true);
+        }
+        for (QueryHint hint : hints.hints()) {
+            query.setHint(hint.name(), hint.value());
+        }
+    }
+
+    private static void setProviderHint(EntityManager em, TypedQuery<?> query, String hibernateName,
+            String eclipseLinkName, Object value) {
+        if (isHibernate(em)) {
+            query.setHint(hibernateName, value);
+        } else if (isEclipseLink(em)) {
+            query.setHint(eclipseLinkName, value);
+        }
+    }
+
+    /**
+     * Returns the entities of the type managed by the persistence context, without loading any. Only Hibernate and
+     * EclipseLink expose the persistence context, with other providers the list is empty.
+     */
+    static List<Object> managedEntities(EntityManager em, Class<?> type) {
+        try {
+            final Collection<?> entities;
+            if (isHibernate(em)) {
+                Object session = em.getDelegate();
+                Object context = session.getClass().getMethod("getPersistenceContextInternal").invoke(session);
+                entities = ((Map<?, ?>) context.getClass().getMethod("getEntitiesByKey").invoke(context)).values();
+            } else if (isEclipseLink(em)) {
+                Object unitOfWork = em.unwrap(Class.forName("org.eclipse.persistence.sessions.UnitOfWork", false,
+                        em.getClass().getClassLoader()));
+                entities = ((Map<?, ?>) unitOfWork.getClass().getMethod("getCloneMapping").invoke(unitOfWork)).keySet();
+            } else {
+                return List.of();
+            }
+            return entities.stream().filter(type::isInstance).map(Object.class::cast).toList();
+        } catch (ReflectiveOperationException | PersistenceException e) {
+            LOGGER.log(Level.FINE, "Could not read the managed entities of the persistence context", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Sets the JDBC batch size of the current session if the provider supports it per session. Hibernate does,
+     * with EclipseLink, batch writing has to be configured in the persistence unit with
+     * {@code eclipselink.jdbc.batch-writing}.
+     */
+    static void setJdbcBatchSize(EntityManager em, int batchSize) {
+        if (!isHibernate(em)) {
+            return;
+        }
+        Object session = em.getDelegate();
+        try {
+            Method setJdbcBatchSize = session.getClass().getMethod("setJdbcBatchSize", Integer.class);
+            setJdbcBatchSize.invoke(session, batchSize);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            LOGGER.log(Level.FINE, "Could not set the JDBC batch size of the Hibernate session", e);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, least-recently-used cache of compiled criteria queries, keyed by the shape of the query.
+ * A size of 0 disables caching, every lookup then compiles a new query.
+ */
+class QueryCache {
+
+    private final int maxSize;
+    private final Map<String, Object> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    QueryCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                if (size() > QueryCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    <V> V get(String key, Supplier<V> compiler) {
+        V compiled;
+        synchronized (entries) {
+            compiled = (V) entries.get(key);
+        }
+        if (compiled != null) {
+            hits.increment();
+            return compiled;
+        }
+        misses.increment();
+        compiled = compiler.get();
+        if (maxSize > 0) {
+            synchronized (entries) {
+                entries.put(key, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    QueryCacheStatistics statistics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new QueryCacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+}
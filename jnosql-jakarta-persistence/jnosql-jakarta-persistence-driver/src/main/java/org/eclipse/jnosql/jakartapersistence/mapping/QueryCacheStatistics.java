@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+/**
+ * A snapshot of the counters of the compiled query cache used by {@link PersistenceDocumentTemplate}.
+ *
+ * @param hits the number of lookups that reused a compiled query
+ * @param misses the number of lookups that had to compile a new query
+ * @param evictions the number of compiled queries removed to respect the maximum size
+ * @param size the number of compiled queries currently held in the cache
+ */
+public record QueryCacheStatistics(long hits, long misses, long evictions, int size) {
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import jakarta.data.Sort;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.jnosql.communication.Condition;
+import org.eclipse.jnosql.communication.Value;
+import org.eclipse.jnosql.communication.semistructured.CriteriaCondition;
+import org.eclipse.jnosql.communication.semistructured.Element;
+import org.eclipse.jnosql.communication.semistructured.SelectQuery;
+
+/**
+ * The shape of a query: everything that influences the translated criteria query, without the values.
+ * The values are collected in the same order in which {@link SelectQueryParser} creates the parameters,
+ * so that they can be bound to a {@link CompiledQuery} found in the cache by the {@link #key()}.
+ */
+record QueryShape(String key, List<Object> values) {
+
+    static QueryShape of(String kind, String entity) {
+        return new QueryShape(kind + ':' + entity, List.of());
+    }
+
+    static QueryShape of(String kind, SelectQuery query) {
+        return of(kind, query.name(), query.condition(), query.sorts(), query.skip() > 0 || query.limit() > 0);
+    }
+
+    static QueryShape of(String kind, String entity, Optional<CriteriaCondition> condition,
+            List<Sort<?>> sorts, boolean paged) {
+        StringBuilder key = new StringBuilder(kind).append(':').append(entity);
+        List<Object> values = new ArrayList<>();
+        condition.ifPresent(criteria -> {
+            key.append(" where ");
+            appendCriteria(criteria, key, values);
+        });
+        if (!sorts.isEmpty()) {
+            key.append(" order by");
+            for (Sort<?> sort : sorts) {
+                key.append(' ').append(sort.property())
+                        .append(sort.isAscending() ? " asc" : " desc")
+                        .append(sort.ignoreCase() ? " ci" : "");
+            }
+        }
+        if (paged) {
+            key.append(" paged");
+        }
+        return new QueryShape(key.toString(), values);
+    }
+
+    private static void appendCriteria(Object value, StringBuilder key, List<Object> values) {
+        if (value instanceof CriteriaCondition criteria) {
+            switch (criteria.condition()) {
+                case NOT -> {
+                    key.append("not(");
+                    appendCriteria(criteria.element(), key, values);
+                    key.append(')');
+                }
+                case AND, OR -> {
+                    key.append(criteria.condition() == Condition.AND ? "and(" : "or(");
+                    Iterator<?> iterator = elementCollection(criteria).iterator();
+                    while (iterator.hasNext()) {
+                        appendCriteria(iterator.next(), key, values);
+                        if (iterator.hasNext()) {
+                            key.append(',');
+                        }
+                    }
+                    key.append(')');
+                }
+                case EQUALS -> {
+                    Element element = criteria.element();
+                    if (element.value().isNull()) {
+                        appendField("null", element, key);
+                    } else {
+                        appendField("eq", element, key);
+                        values.add(element.value().get());
+                    }
+                }
+                case LESSER_THAN, LESSER_EQUALS_THAN, GREATER_THAN, GREATER_EQUALS_THAN, LIKE -> {
+                    Element element = criteria.element();
+                    appendField(criteria.condition().name(), element, key);
+                    values.add(element.value().get());
+                }
+                case BETWEEN -> {
+                    appendField("between", criteria.element(), key);
+                    elementCollection(criteria).forEach(item -> values.add(unwrap(item)));
+                }
+                case IN -> {
+                    Collection<?> items = elementCollection(criteria);
+                    final int size = paddedSize(items.size());
+                    key.append("in:").append(size);
+                    appendField("", criteria.element(), key);
+                    Object last = null;
+                    for (Object item : items) {
+                        last = unwrap(item);
+                        values.add(last);
+                    }
+                    // repeating a value doesn't change the result of IN
+                    for (int index = items.size(); index < size; index++) {
+                        values.add(last);
+                    }
+                }
+                default ->
+                    throw new UnsupportedOperationException("Not supported yet.");
+            }
+        } else if (value instanceof Element element) {
+            appendCriteria(element.value().get(), key, values);
+        } else {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+    }
+
+    /**
+     * Returns the number of parameters of an IN condition with the given number of values: the next power of two.
+     * Padding the values keeps the number of distinct statements low, so that the database can reuse
+     * the execution plans.
+     */
+    static int paddedSize(int size) {
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static void appendField(String operator, Element element, StringBuilder key) {
+        key.append(operator).append('(').append(element.name()).append(')');
+    }
+
+    static Object unwrap(Object item) {
+        return item instanceof Value value ? value.get() : item;
+    }
+
+    private static Collection<?> elementCollection(CriteriaCondition criteria) {
+        return (Collection<?>) criteria.element().value().get();
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Routes the find, select, count and exists calls of a repository to the read replica, the persistence unit set
+ * with {@link org.eclipse.jnosql.jakartapersistence.communication.PersistenceConfigurations#READ_PERSISTENCE_UNIT}.
+ * Calls that take part in a transaction of the primary persistence unit read from the primary persistence unit,
+ * so that they see the changes of the transaction. Writes always go to the primary persistence unit.
+ *
+ * <pre>{@code
+ * @Repository
+ * @ReadReplica
+ * public interface ProductRepository extends CrudRepository<Product, Long> {
+ * }
+ * }</pre>
+ *
+ * @see PersistenceDocumentTemplate#readingFromReplica()
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadReplica {
+}
@@ -15,21 +15,47 @@
  */
 package org.eclipse.jnosql.jakartapersistence.mapping;
 
+import jakarta.data.Sort;
+import jakarta.data.page.CursoredPage;
+import jakarta.data.page.Page;
+import jakarta.data.page.PageRequest;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.ParameterExpression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import jakarta.persistence.metamodel.EntityType;
-import java.util.Collection;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
-import org.eclipse.jnosql.communication.Value;
+import java.util.stream.StreamSupport;
 import org.eclipse.jnosql.communication.semistructured.CriteriaCondition;
 import org.eclipse.jnosql.communication.semistructured.Element;
 import org.eclipse.jnosql.communication.semistructured.SelectQuery;
@@ -37,12 +63,26 @@ import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseMa
 
 class SelectQueryParser extends BaseQueryParser {
 
-    record QueryContext<FROM, RESULT>(CriteriaQuery<RESULT> query, Root<FROM> root, CriteriaBuilder builder) {
+    record QueryContext<FROM, RESULT>(CriteriaQuery<RESULT> query, Root<FROM> root, CriteriaBuilder builder,
+            List<ParameterExpression<?>> parameters) {
 
+        CriteriaContext criteria() {
+            return new CriteriaContext(root, builder, parameters);
+        }
     }
 
-    public SelectQueryParser(PersistenceDatabaseManager manager) {
+    private static final String JPQL_KEY_PREFIX = "jpql:";
+
+    private static final ExecutorService COUNT_EXECUTOR = countExecutor();
+
+    private final QueryCache cache;
+    private final PersistenceSettings settings;
+    private final Map<String, String> namedJpql = new ConcurrentHashMap<>();
+
+    public SelectQueryParser(PersistenceDatabaseManager manager, QueryCache cache, PersistenceSettings settings) {
         super(manager);
+        this.cache = cache;
+        this.settings = settings;
     }
 
     public long count(String entity) {
@@ -51,12 +91,18 @@ class SelectQueryParser extends BaseQueryParser {
     }
 
     public <T> long count(Class<T> type) {
-        TypedQuery<Long> query = buildQuery(type, Long.class, ctx -> ctx.query.select(ctx.builder.count(ctx.root)));
+        TypedQuery<Long> query = cachedQuery(QueryShape.of("count", type.getName()), type, Long.class,
+                ctx -> ctx.query.select(ctx.builder.count(ctx.root)));
         return query.getSingleResult();
     }
 
     public <T> Stream<T> findAll(Class<T> type) {
-        TypedQuery<T> query = buildQuery(type, type, ctx -> ctx.query.select((Root<T>) ctx.root));
+        if (settings.streamFetchSize() > 0) {
+            final String entityName = entityManager().getMetamodel().entity(type).getName();
+            return streamSelect(SelectQuery.builder().from(entityName).build(), null);
+        }
+        TypedQuery<T> query = cachedQuery(QueryShape.of("select", type.getName()), type, type,
+                ctx -> ctx.query.select((Root<T>) ctx.root));
         return query.getResultStream();
     }
 
@@ -81,164 +127,598 @@ class SelectQueryParser extends BaseQueryParser {
     }
 
     public <T> Stream<T> select(SelectQuery selectQuery) {
-        final String entityName = selectQuery.name();
-        final EntityType<T> entityType = findEntityType(entityName);
-        if (selectQuery.condition().isEmpty()) {
-            return findAll(entityType.getJavaType());
-        } else {
-            final CriteriaCondition criteria = selectQuery.condition().get();
-            TypedQuery<T> query = buildQuery(entityType.getJavaType(), entityType.getJavaType(), ctx -> {
-                CriteriaQuery<T> q = ctx.query.select(ctx.root);
-                q = q.where(parseCriteria(criteria, ctx));
-                return q;
-            });
-            return query.getResultStream();
+        return select(selectQuery, (PersistenceHints) null);
+    }
+
+    /**
+     * Selects the entities with the hints of a repository method applied to the query.
+     */
+    public <T> Stream<T> select(SelectQuery selectQuery, PersistenceHints hints) {
+        Optional<List<SelectQuery>> chunks = splitLargeIn(selectQuery);
+        if (chunks.isPresent()) {
+            return chunks.get().stream().flatMap(chunk -> this.<T>select(chunk, hints));
+        }
+        if (!selectQuery.columns().isEmpty()) {
+            return selectColumns(selectQuery, hints);
         }
+        if (settings.streamFetchSize() > 0) {
+            return streamSelect(selectQuery, hints);
+        }
+        TypedQuery<T> query = buildSelectQuery(selectQuery);
+        ProviderSupport.applyHints(entityManager(), query, hints);
+        return query.getResultStream();
     }
 
-    public <T> Optional<T> singleResult(SelectQuery selectQuery) {
-        final String entityName = selectQuery.name();
-        final EntityType<T> entityType = findEntityType(entityName);
-        final Class<T> type = entityType.getJavaType();
-        if (selectQuery.condition().isEmpty()) {
-            TypedQuery<T> query = buildQuery(type, type, ctx -> ctx.query.select((Root<T>) ctx.root));
-            return Optional.ofNullable(query.getSingleResultOrNull());
-        } else {
-            final CriteriaCondition criteria = selectQuery.condition().get();
-            TypedQuery<T> query = buildQuery(type, type, ctx -> {
-                CriteriaQuery<T> q = ctx.query.select(ctx.root);
-                q = q.where(parseCriteria(criteria, ctx));
-                return q;
-            });
-            return Optional.ofNullable(query.getSingleResultOrNull());
+    /**
+     * Selects the columns of the query, or the components of the record if the query has no columns,
+     * into instances of the type created by the constructor that takes the columns in the same order.
+     * The instances are not managed by the persistence context.
+     */
+    public <R> Stream<R> select(SelectQuery selectQuery, Class<R> type) {
+        return select(selectQuery, type, null);
+    }
+
+    /**
+     * Selects the columns into instances of the type with the hints of a repository method applied to the query.
+     */
+    public <R> Stream<R> select(SelectQuery selectQuery, Class<R> type, PersistenceHints hints) {
+        Objects.requireNonNull(type, "type is required");
+        Optional<List<SelectQuery>> chunks = splitLargeIn(selectQuery);
+        if (chunks.isPresent()) {
+            return chunks.get().stream().flatMap(chunk -> select(chunk, type, hints));
+        }
+        List<String> columns = selectQuery.columns();
+        if (columns.isEmpty() && type.isRecord()) {
+            columns = Arrays.stream(type.getRecordComponents()).map(RecordComponent::getName).toList();
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("The columns to select into " + type.getName() + " are required");
+        }
+        final EntityType<?> entityType = findEntityType(selectQuery.name());
+        TypedQuery<R> query = projectionQuery(selectQuery, columns, entityType.getJavaType(), type,
+                (ctx, selections) -> ctx.query().select(ctx.builder().construct(type, selections)));
+        applyPagination(query, selectQuery);
+        ProviderSupport.applyScalarHints(entityManager(), query, hints);
+        return query.getResultStream();
+    }
+
+    /**
+     * Selects only the columns of the query into new instances of the entity, which are not managed
+     * by the persistence context. The other attributes keep the values set by the constructor. Like for other
+     * projections, only the hints that don't depend on the results being entities are applied.
+     */
+    private <T> Stream<T> selectColumns(SelectQuery selectQuery, PersistenceHints hints) {
+        final EntityType<T> entityType = findEntityType(selectQuery.name());
+        final List<String> columns = selectQuery.columns().stream().map(BaseQueryParser::attributeName).toList();
+        final List<Member> members = columns.stream()
+                .map(column -> entityType.getAttribute(column).getJavaMember())
+                .toList();
+        TypedQuery<Object[]> query = projectionQuery(selectQuery, columns, entityType.getJavaType(), Object[].class,
+                (ctx, selections) -> ctx.query().multiselect(selections));
+        applyPagination(query, selectQuery);
+        ProviderSupport.applyScalarHints(entityManager(), query, hints);
+        return query.getResultStream().map(row -> newEntity(entityType.getJavaType(), members, row));
+    }
+
+    private <FROM, RESULT> TypedQuery<RESULT> projectionQuery(SelectQuery selectQuery, List<String> columns,
+            Class<FROM> fromType, Class<RESULT> resultType,
+            BiFunction<QueryContext<FROM, RESULT>, Selection<?>[], CriteriaQuery<RESULT>> projection) {
+        final QueryShape shape = QueryShape.of("select " + resultType.getName() + columns, selectQuery);
+        return cachedQuery(shape, fromType, resultType, ctx -> {
+            final Selection<?>[] selections = columns.stream()
+                    .map(column -> resolvePath(ctx.root(), column))
+                    .toArray(Selection[]::new);
+            CriteriaQuery<RESULT> q = projection.apply(ctx, selections);
+            selectQuery.condition().ifPresent(criteria -> q.where(parseCriteria(criteria, ctx.criteria())));
+            if (!selectQuery.sorts().isEmpty()) {
+                q.orderBy(parseSorts(selectQuery.sorts(), ctx));
+            }
+            return q;
+        });
+    }
+
+    private static <T> T newEntity(Class<T> type, List<Member> members, Object[] row) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            T entity = constructor.newInstance();
+            for (int index = 0; index < members.size(); index++) {
+                setAttribute(entity, members.get(index), row[index]);
+            }
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create an instance of " + type.getName(), e);
         }
     }
 
+    private static void setAttribute(Object entity, Member member, Object value) throws ReflectiveOperationException {
+        if (member instanceof Field field) {
+            if (value != null || !field.getType().isPrimitive()) {
+                field.setAccessible(true);
+                field.set(entity, value);
+            }
+        } else if (member instanceof Method getter) {
+            // property access, the attribute is set with the setter of the getter
+            final Class<?> type = getter.getReturnType();
+            if (value != null || !type.isPrimitive()) {
+                final String property = getter.getName().substring(getter.getName().startsWith("is") ? 2 : 3);
+                Method setter = getter.getDeclaringClass().getDeclaredMethod("set" + property, type);
+                setter.setAccessible(true);
+                setter.invoke(entity, value);
+            }
+        }
+    }
+
+    public <T> Optional<T> singleResult(SelectQuery selectQuery) {
+        TypedQuery<T> query = buildSelectQuery(selectQuery);
+        return Optional.ofNullable(query.getSingleResultOrNull());
+    }
+
     public long count(SelectQuery selectQuery) {
+        return count(selectQuery, null);
+    }
+
+    /**
+     * Counts the entities with the hints of a repository method applied to the query.
+     */
+    public long count(SelectQuery selectQuery, PersistenceHints hints) {
         final String entityName = selectQuery.name();
-        if (selectQuery.condition().isEmpty()) {
+        Optional<List<SelectQuery>> chunks = splitLargeIn(selectQuery);
+        if (chunks.isPresent()) {
+            return chunks.get().stream().mapToLong(chunk -> count(chunk, hints)).sum();
+        }
+        if (selectQuery.condition().isEmpty() && hints == null) {
             return count(entityName);
         } else {
-            final EntityType<?> entityType = findEntityType(entityName);
-            final CriteriaCondition criteria = selectQuery.condition().get();
-            TypedQuery<Long> query = buildQuery(entityType.getJavaType(), Long.class, ctx -> {
-                CriteriaQuery<Long> q = ctx.query.select(ctx.builder.count(ctx.root));
-                q = q.where(parseCriteria(criteria, ctx));
-                return q;
-            });
+            final TypedQuery<Long> query = buildCountQuery(selectQuery);
+            ProviderSupport.applyScalarHints(entityManager(), query, hints);
             return query.getSingleResult();
         }
     }
 
-    record ComparableContext(Path<Comparable> field, Comparable fieldValue) {
+    TypedQuery<Long> buildCountQuery(SelectQuery selectQuery) {
+        final String entityName = selectQuery.name();
+        final EntityType<?> entityType = findEntityType(entityName);
+        final QueryShape shape = QueryShape.of("count", entityName, selectQuery.condition(), List.of(), false);
+        return cachedQuery(shape, entityType.getJavaType(), Long.class, ctx -> {
+            CriteriaQuery<Long> q = ctx.query;
+            selectQuery.condition().ifPresent(criteria -> q.where(parseCriteria(criteria, ctx.criteria())));
+            // a join of a collection multiplies the rows of an entity
+            return q.select(joinsCollection(ctx.root)
+                    ? ctx.builder.countDistinct(ctx.root)
+                    : ctx.builder.count(ctx.root));
+        });
+    }
+
+    /**
+     * Checks whether an entity matches the query by selecting at most a single id, without loading
+     * any entity.
+     */
+    public boolean exists(SelectQuery selectQuery) {
+        return exists(selectQuery, null);
+    }
 
-        public static <FROM> ComparableContext from(Root<FROM> root, CriteriaCondition criteria) {
-            Element element = (Element) criteria.element();
-            Path<Comparable> field = root.get(getName(element));
-            Comparable fieldValue = element.value().get(Comparable.class);
-            return new ComparableContext(field, fieldValue);
+    /**
+     * Checks whether an entity matches the query with the hints of a repository method applied to the query.
+     */
+    public boolean exists(SelectQuery selectQuery, PersistenceHints hints) {
+        Optional<List<SelectQuery>> chunks = splitLargeIn(selectQuery);
+        if (chunks.isPresent()) {
+            return chunks.get().stream().anyMatch(chunk -> exists(chunk, hints));
         }
+        final TypedQuery<Object> query = buildExistsQuery(selectQuery);
+        ProviderSupport.applyScalarHints(entityManager(), query, hints);
+        return !query.getResultList().isEmpty();
     }
 
-    record BiComparableContext(Path<Comparable> field, Comparable fieldValue1, Comparable fieldValue2) {
+    TypedQuery<Object> buildExistsQuery(SelectQuery selectQuery) {
+        final EntityType<?> entityType = findEntityType(selectQuery.name());
+        final String idName = getEntityIdName(entityType);
+        final QueryShape shape = QueryShape.of("exists", selectQuery.name(), selectQuery.condition(), List.of(), false);
+        TypedQuery<Object> query = cachedQuery(shape, entityType.getJavaType(), Object.class, ctx -> {
+            CriteriaQuery<Object> q = ctx.query.select(ctx.root.get(idName));
+            selectQuery.condition().ifPresent(criteria -> q.where(parseCriteria(criteria, ctx.criteria())));
+            return q;
+        });
+        query.setMaxResults(1);
+        return query;
+    }
 
-        public static <FROM> BiComparableContext from(Root<FROM> root, CriteriaCondition criteria) {
-            Element element = (Element) criteria.element();
-            final Path<Comparable> field = root.get(getName(element));
-            Iterator<?> iterator = elementCollection(criteria).iterator();
-            final Comparable fieldValue1 = ((Value) iterator.next()).get(Comparable.class);
-            final Comparable fieldValue2 = ((Value) iterator.next()).get(Comparable.class);
-            return new BiComparableContext(field, fieldValue1, fieldValue2);
+    public Query buildQuery(String query) {
+        EntityManager em = entityManager();
+        return em.createQuery(query);
+    }
+
+    /**
+     * Parses the JPQL of a repository method annotated with {@code Query} and registers it like
+     * {@link #buildCachedQuery(String)}, so that an invalid query fails before the first call.
+     */
+    void registerQuery(String jpql) {
+        final Query query = buildQuery(jpql);
+        if (settings.queryCacheSize() > 0 && namedJpql.size() < settings.queryCacheSize()) {
+            namedJpql.computeIfAbsent(jpql, key -> register(key, query));
         }
+    }
 
+    /**
+     * Creates a query from JPQL. On its first use, the JPQL is registered as a named query of the entity manager
+     * factory, so that the provider parses it only once and later calls only create the named query. Named queries
+     * are never removed, so at most as many JPQL queries as the size of the query cache are registered, further
+     * JPQL queries are parsed on each call. Without the query cache, nothing is registered.
+     */
+    Query buildCachedQuery(String jpql) {
+        String name = namedJpql.get(jpql);
+        if (name == null) {
+            if (settings.queryCacheSize() == 0 || namedJpql.size() >= settings.queryCacheSize()) {
+                return buildQuery(jpql);
+            }
+            name = namedJpql.computeIfAbsent(jpql, key -> register(key, buildQuery(key)));
+        }
+        return entityManager().createNamedQuery(name);
     }
 
-    record MultiValueContext(Path<?> field, Collection<?> fieldValues) {
+    private String register(String jpql, Query query) {
+        final String queryName = jpqlQueryName(jpql);
+        entityManager().getEntityManagerFactory().addNamedQuery(queryName, query);
+        return queryName;
+    }
 
-        public static <FROM> MultiValueContext from(Root<FROM> root, CriteriaCondition criteria) {
-            Element element = (Element) criteria.element();
-            Path<Comparable> field = root.get(getName(element));
-            return new MultiValueContext(field, elementCollection(criteria));
+    static String jpqlQueryName(String jpql) {
+        return CompiledQuery.NAME_PREFIX + JPQL_KEY_PREFIX + jpql;
+    }
+
+    <T> TypedQuery<T> buildSelectQuery(SelectQuery selectQuery) {
+        final EntityType<T> entityType = findEntityType(selectQuery.name());
+        final Class<T> type = entityType.getJavaType();
+        TypedQuery<T> query = cachedQuery(QueryShape.of("select", selectQuery), type, type, ctx -> {
+            CriteriaQuery<T> q = ctx.query.select(ctx.root);
+            selectQuery.condition().ifPresent(criteria -> q.where(parseCriteria(criteria, ctx.criteria())));
+            q.distinct(joinsCollection(ctx.root));
+            if (!selectQuery.sorts().isEmpty()) {
+                q.orderBy(parseSorts(selectQuery.sorts(), ctx));
+            }
+            return q;
+        });
+        applyPagination(query, selectQuery);
+        return query;
+    }
+
+    private static void applyPagination(TypedQuery<?> query, SelectQuery selectQuery) {
+        if (selectQuery.skip() > 0) {
+            query.setFirstResult(Math.toIntExact(selectQuery.skip()));
+        }
+        if (selectQuery.limit() > 0) {
+            query.setMaxResults(Math.toIntExact(selectQuery.limit()));
         }
     }
 
-    public Query buildQuery(String query) {
-        EntityManager em = entityManager();
-        return em.createQuery(query);
+    private <FROM, RESULT> List<Order> parseSorts(List<Sort<?>> sorts, QueryContext<FROM, RESULT> ctx) {
+        return orders(sorts, sortExpressions(sorts, ctx), false, ctx);
+    }
+
+    private <FROM, RESULT> List<Expression<?>> sortExpressions(List<Sort<?>> sorts, QueryContext<FROM, RESULT> ctx) {
+        List<Expression<?>> expressions = new ArrayList<>(sorts.size());
+        for (Sort<?> sort : sorts) {
+            Expression<?> expression = resolvePath(ctx.root(), sort.property());
+            if (sort.ignoreCase()) {
+                expression = ctx.builder().lower(expression.as(String.class));
+            }
+            expressions.add(expression);
+        }
+        return expressions;
+    }
+
+    private static <FROM, RESULT> List<Order> orders(List<Sort<?>> sorts, List<Expression<?>> expressions,
+            boolean reversed, QueryContext<FROM, RESULT> ctx) {
+        List<Order> orders = new ArrayList<>(sorts.size());
+        for (int index = 0; index < sorts.size(); index++) {
+            final Expression<?> expression = expressions.get(index);
+            final boolean ascending = sorts.get(index).isAscending() != reversed;
+            orders.add(ascending ? ctx.builder().asc(expression) : ctx.builder().desc(expression));
+        }
+        return orders;
+    }
+
+    /**
+     * Selects a page of entities with an offset. If the page request asks for the total, the count query runs on
+     * another thread with its own entity manager while the entities are loaded, unless the current entity manager
+     * takes part in a transaction, whose changes the other entity manager wouldn't see. If the total is known from
+     * the page itself, i.e. it's the last page, the total of the count query isn't waited for. A count query that
+     * has already started can't be stopped, it runs to the end on its thread and its result is discarded.
+     * The hints of a repository method, if any, are applied to both queries.
+     */
+    public <T> Page<T> selectPage(SelectQuery selectQuery, PageRequest pageRequest, PersistenceHints hints) {
+        if (pageRequest.mode() != PageRequest.Mode.OFFSET) {
+            throw new IllegalArgumentException("A page can only be read with an offset,"
+                    + " use a CursoredPage for cursor-based pagination");
+        }
+        var countBuilder = SelectQuery.builder().from(selectQuery.name());
+        selectQuery.condition().ifPresent(countBuilder::where);
+        final SelectQuery countQuery = countBuilder.build();
+        CompletableFuture<Long> concurrentTotal = null;
+        if (pageRequest.requestTotal() && !manager.isInTransaction()) {
+            concurrentTotal = CompletableFuture.supplyAsync(
+                    () -> manager.callWithNewEntityManager(() -> count(countQuery, hints)), COUNT_EXECUTOR);
+        }
+
+        final long skip = (pageRequest.page() - 1) * pageRequest.size();
+        var builder = SelectQuery.builder(selectQuery.columns().toArray(String[]::new))
+                .from(selectQuery.name())
+                .skip(skip)
+                // one more to know whether there's a next page
+                .limit(pageRequest.size() + 1L);
+        selectQuery.condition().ifPresent(builder::where);
+        selectQuery.sorts().forEach(builder::sort);
+        List<T> content = this.<T>select(builder.build(), hints).toList();
+        final boolean hasNext = content.size() > pageRequest.size();
+        if (hasNext) {
+            content = content.subList(0, pageRequest.size());
+        }
+
+        long total = -1;
+        if (pageRequest.requestTotal()) {
+            if (!hasNext && (!content.isEmpty() || skip == 0)) {
+                total = skip + content.size();
+                if (concurrentTotal != null) {
+                    // only skips the count if it hasn't started yet, a running query can't be interrupted
+                    concurrentTotal.cancel(false);
+                }
+            } else if (concurrentTotal != null) {
+                total = join(concurrentTotal);
+            } else {
+                total = count(countQuery, hints);
+            }
+        }
+        return new PersistencePage<>(content, pageRequest, hasNext, total);
+    }
+
+    private static long join(CompletableFuture<Long> total) {
+        try {
+            return total.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Virtual threads on Java 21 and later, daemon platform threads otherwise.
+     */
+    private static ExecutorService countExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "jnosql-page-count");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Selects a page of entities after or before the cursor of the page request using keyset predicates,
+     * e.g. {@code (a > ?) OR (a = ? AND b > ?)} for sorts by {@code a} and {@code b}, so that the cost doesn't
+     * depend on how deep the page is. The id is added as the last sort key to make the order unique.
+     * The values of the sort keys are selected along with the entities to create the cursors of the page.
+     */
+    public <T> CursoredPage<T> selectCursor(SelectQuery selectQuery, PageRequest pageRequest) {
+        Objects.requireNonNull(pageRequest, "pageRequest is required");
+        final EntityType<T> entityType = findEntityType(selectQuery.name());
+        final String idName = getEntityIdName(entityType);
+        final List<Sort<?>> sorts = new ArrayList<>(selectQuery.sorts());
+        if (sorts.stream().noneMatch(sort -> attributeName(sort.property()).equals(idName))) {
+            sorts.add(Sort.asc(idName));
+        }
+        final List<?> cursorKeys = pageRequest.cursor().map(PageRequest.Cursor::elements).orElse(List.of());
+        if (!cursorKeys.isEmpty() && cursorKeys.size() != sorts.size()) {
+            throw new IllegalArgumentException("The cursor has " + cursorKeys.size() + " keys but the query is sorted by "
+                    + sorts.size() + " keys, including the id: " + sorts);
+        }
+        final boolean before = pageRequest.mode() == PageRequest.Mode.CURSOR_PREVIOUS;
+
+        final String kind = "cursor:" + (cursorKeys.isEmpty() ? "first" : pageRequest.mode());
+        final QueryShape conditionShape = QueryShape.of(kind, selectQuery.name(), selectQuery.condition(), sorts, true);
+        final List<Object> values = new ArrayList<>(conditionShape.values());
+        for (int index = 0; index < cursorKeys.size(); index++) {
+            // the same order as the parameters of the keyset predicate
+            values.addAll(cursorKeys.subList(0, index + 1));
+        }
+        final QueryShape shape = new QueryShape(conditionShape.key(), values);
+        TypedQuery<Object[]> query = cachedQuery(shape, entityType.getJavaType(), Object[].class, ctx -> {
+            final List<Expression<?>> keys = sortExpressions(sorts, ctx);
+            List<Selection<?>> selections = new ArrayList<>();
+            selections.add(ctx.root());
+            selections.addAll(keys);
+            List<Predicate> predicates = new ArrayList<>();
+            selectQuery.condition().ifPresent(criteria -> predicates.add(parseCriteria(criteria, ctx.criteria())));
+            if (!cursorKeys.isEmpty()) {
+                predicates.add(keysetPredicate(sorts, keys, before, ctx));
+            }
+            return ctx.query().multiselect(selections)
+                    .where(predicates.toArray(Predicate[]::new))
+                    .orderBy(orders(sorts, keys, before, ctx));
+        });
+        final int size = pageRequest.size();
+        if (cursorKeys.isEmpty() && pageRequest.page() > 1) {
+            query.setFirstResult(Math.toIntExact((pageRequest.page() - 1) * size));
+        }
+        // one more to know whether there are more entities in the direction of the paging
+        query.setMaxResults(size + 1);
+        List<Object[]> rows = new ArrayList<>(query.getResultList());
+        final boolean more = rows.size() > size;
+        if (more) {
+            rows = rows.subList(0, size);
+        }
+        if (before) {
+            Collections.reverse(rows);
+        }
+        final List<T> content = rows.stream().map(row -> (T) row[0]).toList();
+        final List<PageRequest.Cursor> cursors = rows.stream()
+                .map(row -> PageRequest.Cursor.forKey(Arrays.copyOfRange(row, 1, row.length)))
+                .toList();
+        final boolean hasNext = before ? !cursorKeys.isEmpty() : more;
+        final boolean hasPrevious = before ? more : !cursorKeys.isEmpty() || pageRequest.page() > 1;
+        final long total = pageRequest.requestTotal() ? count(selectQuery) : -1;
+        return new PersistenceCursoredPage<>(content, cursors, pageRequest, hasNext, hasPrevious, total);
+    }
+
+    /**
+     * Creates {@code (a > ?) OR (a = ? AND b > ?) OR ...} for the sort keys, with {@code <} instead of
+     * {@code >} for keys sorted in the descending order. Reversed when paging before the cursor.
+     */
+    private static <FROM, RESULT> Predicate keysetPredicate(List<Sort<?>> sorts, List<Expression<?>> keys,
+            boolean reversed, QueryContext<FROM, RESULT> ctx) {
+        final CriteriaBuilder builder = ctx.builder();
+        final CriteriaContext criteria = ctx.criteria();
+        List<Predicate> alternatives = new ArrayList<>(keys.size());
+        for (int index = 0; index < keys.size(); index++) {
+            List<Predicate> conjunction = new ArrayList<>(index + 1);
+            for (int previous = 0; previous < index; previous++) {
+                final Expression<Object> key = (Expression<Object>) keys.get(previous);
+                conjunction.add(builder.equal(key, parameter(key, criteria)));
+            }
+            final Expression<Comparable> key = (Expression<Comparable>) keys.get(index);
+            final ParameterExpression<Comparable> value = parameter(key, criteria);
+            final boolean ascending = sorts.get(index).isAscending() != reversed;
+            conjunction.add(ascending ? builder.greaterThan(key, value) : builder.lessThan(key, value));
+            alternatives.add(builder.and(conjunction.toArray(Predicate[]::new)));
+        }
+        return builder.or(alternatives.toArray(Predicate[]::new));
     }
 
     public <FROM, RESULT> TypedQuery<RESULT> buildQuery(Class<FROM> fromType, Class<RESULT> resultType,
             Function<QueryContext<FROM, RESULT>, CriteriaQuery<RESULT>> queryModifier) {
-        EntityManager em = entityManager();
-        CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
+        return compile(fromType, resultType, queryModifier).createQuery(entityManager(), List.of());
+    }
+
+    /**
+     * Looks up the compiled query for the shape in the cache, compiling it with the query modifier
+     * on a cache miss, and binds the values of the shape to a new typed query.
+     */
+    private <FROM, RESULT> TypedQuery<RESULT> cachedQuery(QueryShape shape, Class<FROM> fromType, Class<RESULT> resultType,
+            Function<QueryContext<FROM, RESULT>, CriteriaQuery<RESULT>> queryModifier) {
+        CompiledQuery<RESULT> compiled = cache.get(shape.key(), () -> {
+            final CompiledQuery<RESULT> query = compile(fromType, resultType, queryModifier);
+            // without a cache, the named query would be registered again with every query
+            return settings.namedQueries() && settings.queryCacheSize() > 0
+                    ? query.register(entityManager(), shape.key())
+                    : query;
+        });
+        return compiled.createQuery(entityManager(), shape.values());
+    }
+
+    private <FROM, RESULT> CompiledQuery<RESULT> compile(Class<FROM> fromType, Class<RESULT> resultType,
+            Function<QueryContext<FROM, RESULT>, CriteriaQuery<RESULT>> queryModifier) {
+        CriteriaBuilder criteriaBuilder = entityManager().getCriteriaBuilder();
         CriteriaQuery<RESULT> criteriaQuery = criteriaBuilder.createQuery(resultType);
         Root<FROM> from = criteriaQuery.from(fromType);
-        criteriaQuery = queryModifier.apply(new QueryContext(criteriaQuery, from, criteriaBuilder));
-        return em.createQuery(criteriaQuery);
-    }
-
-    private static String getName(Element element) {
-        String name = element.name();
-        // NoSQL DBs translate id field into "_id" but we don't want it
-        return name.equals("_id") ? "id" : name;
-    }
-
-    private <FROM, RESULT> Predicate parseCriteria(Object value, QueryContext<FROM, RESULT> ctx) {
-        if (value instanceof CriteriaCondition criteria) {
-            return switch (criteria.condition()) {
-                case NOT ->
-                    ctx.builder().not(parseCriteria(criteria.element(), ctx));
-                case EQUALS -> {
-                    Element element = (Element) criteria.element();
-                    if (element.value().isNull()) {
-                        yield ctx.builder().isNull(ctx.root().get(getName(element)));
-                    } else {
-                        yield ctx.builder().equal(ctx.root().get(getName(element)), element.value().get());
-                    }
-                }
-                case AND -> {
-                    Iterator<?> iterator = elementCollection(criteria).iterator();
-                    yield ctx.builder().and(parseCriteria(iterator.next(), ctx), parseCriteria(iterator.next(), ctx));
-                }
-                case LESSER_THAN -> {
-                    ComparableContext comparableContext = ComparableContext.from(ctx.root(), criteria);
-                    yield ctx.builder().lessThan(comparableContext.field(), comparableContext.fieldValue());
-                }
-                case LESSER_EQUALS_THAN -> {
-                    ComparableContext comparableContext = ComparableContext.from(ctx.root(), criteria);
-                    yield ctx.builder().lessThanOrEqualTo(comparableContext.field(), comparableContext.fieldValue());
-                }
-                case GREATER_THAN -> {
-                    ComparableContext comparableContext = ComparableContext.from(ctx.root(), criteria);
-                    yield ctx.builder().greaterThan(comparableContext.field(), comparableContext.fieldValue());
-                }
-                case GREATER_EQUALS_THAN -> {
-                    ComparableContext comparableContext = ComparableContext.from(ctx.root(), criteria);
-                    yield ctx.builder().greaterThanOrEqualTo(comparableContext.field(), comparableContext.fieldValue());
-                }
-                case BETWEEN -> {
-                    BiComparableContext comparableContext = BiComparableContext.from(ctx.root(), criteria);
-                    yield ctx.builder().between(comparableContext.field(), comparableContext.fieldValue1(), comparableContext.fieldValue2());
+        List<ParameterExpression<?>> parameters = new ArrayList<>();
+        criteriaQuery = queryModifier.apply(new QueryContext<>(criteriaQuery, from, criteriaBuilder, parameters));
+        return new CompiledQuery<>(criteriaQuery, List.copyOf(parameters), null);
+    }
+
+    /**
+     * Streams the result with at most fetch size entities read from the database at once. Entities are
+     * detached from the persistence context as they are read, so that it doesn't grow with the result.
+     * Hibernate streams from a scrollable cursor. With other providers, the result is read in chunks of
+     * fetch size entities ordered by the id, each chunk starting after the last id of the previous one.
+     * Queries that are sorted or skip entities can't be read by id, they're loaded whole.
+     */
+    private <T> Stream<T> streamSelect(SelectQuery selectQuery, PersistenceHints hints) {
+        if (ProviderSupport.isHibernate(entityManager())) {
+            TypedQuery<T> query = buildSelectQuery(selectQuery);
+            query.setHint(ProviderSupport.HIBERNATE_FETCH_SIZE, settings.streamFetchSize());
+            ProviderSupport.applyHints(entityManager(), query, hints);
+            return query.getResultStream().map(entity -> {
+                entityManager().detach(entity);
+                return entity;
+            });
+        }
+        final EntityType<T> entityType = findEntityType(selectQuery.name());
+        if (!selectQuery.sorts().isEmpty() || selectQuery.skip() > 0 || !entityType.hasSingleIdAttribute()) {
+            TypedQuery<T> query = buildSelectQuery(selectQuery);
+            ProviderSupport.applyHints(entityManager(), query, hints);
+            return query.getResultStream();
+        }
+        Stream<T> stream = StreamSupport.stream(
+                new KeysetSpliterator<T>(selectQuery, hints, getEntityIdName(entityType), settings.streamFetchSize()), false);
+        return selectQuery.limit() > 0 ? stream.limit(selectQuery.limit()) : stream;
+    }
+
+    private final class KeysetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final SelectQuery selectQuery;
+        private final PersistenceHints hints;
+        private final String idName;
+        private final int fetchSize;
+        private Iterator<T> chunk = Collections.emptyIterator();
+        private Object lastId;
+        private boolean lastChunk;
+
+        KeysetSpliterator(SelectQuery selectQuery, PersistenceHints hints, String idName, int fetchSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.selectQuery = selectQuery;
+            this.hints = hints;
+            this.idName = idName;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!chunk.hasNext()) {
+                if (lastChunk) {
+                    return false;
                 }
-                case IN -> {
-                    MultiValueContext valueContext = MultiValueContext.from(ctx.root(), criteria);
-                    CriteriaBuilder.In<Object> inExpr = ctx.builder().in(valueContext.field());
-                    valueContext.fieldValues().forEach(v -> inExpr.value(v));
-                    yield inExpr;
+                List<T> entities = nextChunk();
+                lastChunk = entities.size() < fetchSize;
+                if (entities.isEmpty()) {
+                    return false;
                 }
+                lastId = entityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                        .getIdentifier(entities.get(entities.size() - 1));
+                entities.forEach(entityManager()::detach);
+                chunk = entities.iterator();
+            }
+            action.accept(chunk.next());
+            return true;
+        }
 
-                default ->
-                    throw new UnsupportedOperationException("Not supported yet.");
-            };
-        } else if (value instanceof Element element) {
-            return parseCriteria(element.value().get(), ctx);
+        private List<T> nextChunk() {
+            Optional<CriteriaCondition> condition = selectQuery.condition();
+            if (lastId != null) {
+                CriteriaCondition afterLastId = CriteriaCondition.gt(Element.of(idName, lastId));
+                condition = Optional.of(condition.map(c -> CriteriaCondition.and(c, afterLastId)).orElse(afterLastId));
+            }
+            var builder = SelectQuery.builder(selectQuery.columns().toArray(String[]::new))
+                    .from(selectQuery.name())
+                    .sort(Sort.asc(idName))
+                    .limit(fetchSize);
+            condition.ifPresent(builder::where);
+            TypedQuery<T> query = buildSelectQuery(builder.build());
+            ProviderSupport.applyHints(entityManager(), query, hints);
+            return query.getResultList();
         }
-        throw new UnsupportedOperationException("Not supported yet.");
     }
 
-    private static Collection<?> elementCollection(CriteriaCondition criteria) {
-        Element element = (Element) criteria.element();
-        return (Collection<?>) element.value().get();
+    /**
+     * Splits a query with a large IN condition into queries whose results can be concatenated, see
+     * {@link #splitLargeIn(CriteriaCondition, int)}. Sorted or paged queries aren't split.
+     */
+    private Optional<List<SelectQuery>> splitLargeIn(SelectQuery selectQuery) {
+        if (selectQuery.condition().isEmpty() || !selectQuery.sorts().isEmpty()
+                || selectQuery.skip() > 0 || selectQuery.limit() > 0) {
+            return Optional.empty();
+        }
+        return splitLargeIn(selectQuery.condition().get(), settings.inChunkSize())
+                .map(conditions -> conditions.stream()
+                        .map(condition -> SelectQuery.builder(selectQuery.columns().toArray(String[]::new))
+                                .from(selectQuery.name())
+                                .where(condition)
+                                .build())
+                        .toList());
     }
 
 }
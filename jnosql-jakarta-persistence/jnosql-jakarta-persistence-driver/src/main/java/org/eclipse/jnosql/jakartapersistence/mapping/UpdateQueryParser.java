@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseManager;
+
+class UpdateQueryParser extends BaseQueryParser {
+
+    public UpdateQueryParser(PersistenceDatabaseManager manager) {
+        super(manager);
+    }
+
+    /**
+     * Sets the given attributes of the entity with the given id with a single update statement,
+     * without loading the entity. The entity is evicted from the second-level cache afterwards, so that
+     * later finds read the new values.
+     *
+     * @return the number of updated entities, 0 or 1
+     */
+    public <T, K> int update(Class<T> type, K key, Map<String, ?> attributes) {
+        CriteriaBuilder criteriaBuilder = entityManager().getCriteriaBuilder();
+        CriteriaUpdate<T> updateCriteria = criteriaBuilder.createCriteriaUpdate(type);
+        Root<T> root = updateCriteria.from(type);
+        List<ParameterExpression<Object>> parameters = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        attributes.forEach((name, value) -> {
+            Path<Object> path = root.get(name);
+            ParameterExpression<Object> parameter = criteriaBuilder.parameter(parameterType(path.getJavaType()),
+                    "p" + parameters.size());
+            updateCriteria.set(path, parameter);
+            parameters.add(parameter);
+            values.add(value);
+        });
+        Path<Object> idPath = root.get(getEntityIdName(entityManager().getMetamodel().entity(type)));
+        ParameterExpression<Object> idParameter = criteriaBuilder.parameter(parameterType(idPath.getJavaType()), "id");
+        updateCriteria.where(criteriaBuilder.equal(idPath, idParameter));
+        final Object id = convert(key, idParameter.getParameterType());
+        Query updateQuery = entityManager().createQuery(updateCriteria).setParameter(idParameter, id);
+        for (int i = 0; i < parameters.size(); i++) {
+            updateQuery.setParameter(parameters.get(i), convert(values.get(i), parameters.get(i).getParameterType()));
+        }
+        final int updated = updateQuery.executeUpdate();
+        entityManager().getEntityManagerFactory().getCache().evict(type, id);
+        return updated;
+    }
+
+}
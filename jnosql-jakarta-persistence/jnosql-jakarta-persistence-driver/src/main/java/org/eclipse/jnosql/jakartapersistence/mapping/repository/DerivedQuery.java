@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *  The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *  and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ *
+ *  Contributors:
+ *
+ *  Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping.repository;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import org.eclipse.jnosql.communication.Params;
+import org.eclipse.jnosql.communication.query.method.SelectMethodQueryProvider;
+import org.eclipse.jnosql.communication.semistructured.CommunicationObserverParser;
+import org.eclipse.jnosql.communication.semistructured.QueryParams;
+import org.eclipse.jnosql.communication.semistructured.SelectQuery;
+import org.eclipse.jnosql.communication.semistructured.SelectQueryParser;
+import org.eclipse.jnosql.mapping.metadata.EntityMetadata;
+import org.eclipse.jnosql.mapping.semistructured.query.DynamicQuery;
+import org.eclipse.jnosql.mapping.semistructured.query.RepositorySemiStructuredObserverParser;
+
+/**
+ * The query of a find, count or exists method derived from the method name. The method name is parsed once,
+ * a call only creates the query from the parsed name and binds the parameters in the order of the method.
+ */
+record DerivedQuery(Method method, org.eclipse.jnosql.communication.query.SelectQuery parsed,
+        CommunicationObserverParser observer) {
+
+    private static final SelectQueryParser SELECT_PARSER = new SelectQueryParser();
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    static DerivedQuery of(Method method, EntityMetadata entityMetadata) {
+        var parsed = new SelectMethodQueryProvider().apply(method.getName(), entityMetadata.name());
+        return new DerivedQuery(method, parsed, RepositorySemiStructuredObserverParser.of(entityMetadata));
+    }
+
+    SelectQuery bind(Object[] args) {
+        final Object[] values = args == null ? NO_PARAMS : args;
+        final QueryParams queryParams = SELECT_PARSER.apply(parsed, observer);
+        final Params params = queryParams.params();
+        final List<String> names = params.getParametersNames();
+        if (names.size() > values.length) {
+            throw new IllegalArgumentException("The method " + method + " requires " + names.size()
+                    + " parameters but " + values.length + " were given");
+        }
+        for (int index = 0; index < names.size(); index++) {
+            params.bind(names.get(index), values[index]);
+        }
+        // sorts, limit and page request among the parameters
+        return DynamicQuery.of(values, queryParams.query()).get();
+    }
+}
@@ -15,23 +15,386 @@
  */
 package org.eclipse.jnosql.jakartapersistence.mapping.repository;
 
+import jakarta.data.Limit;
+import jakarta.data.Order;
+import jakarta.data.Sort;
+import jakarta.data.exceptions.NonUniqueResultException;
+import jakarta.data.page.Page;
+import jakarta.data.page.PageRequest;
+import jakarta.data.repository.By;
+import jakarta.data.repository.Param;
+import jakarta.data.repository.Query;
+import jakarta.data.repository.Update;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.jnosql.communication.QueryException;
+import org.eclipse.jnosql.communication.semistructured.SelectQuery;
 import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceDocumentTemplate;
+import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceDocumentTemplate.Operation;
+import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceHints;
 import org.eclipse.jnosql.mapping.core.Converters;
 import org.eclipse.jnosql.mapping.metadata.EntitiesMetadata;
 import org.eclipse.jnosql.mapping.semistructured.query.SemiStructuredRepositoryProxy;
 
+/**
+ * Resolves the repository methods it can execute directly when it's created, into a table of
+ * {@link MethodExecutor} by method. Other methods are executed by {@link SemiStructuredRepositoryProxy}.
+ */
 public class JakartaPersistenceRepositoryProxy<T,K> extends SemiStructuredRepositoryProxy<T,K> {
 
+    private static final Pattern DERIVED_QUERY = Pattern.compile("(find|count|exists)(All)?By\\p{Upper}.*");
+
+    private final PersistenceDocumentTemplate template;
+
+    private final Class<?> repositoryType;
+
+    private final Map<Method, MethodExecutor> executors;
+
     public JakartaPersistenceRepositoryProxy(PersistenceDocumentTemplate template, EntitiesMetadata entities, Class<?> repositoryType, Converters converters) {
+        this(template, entities, repositoryType, converters, true);
+    }
+
+    JakartaPersistenceRepositoryProxy(PersistenceDocumentTemplate template, EntitiesMetadata entities, Class<?> repositoryType,
+            Converters converters, boolean precompile) {
         super(template, entities, repositoryType, converters);
+        this.template = template;
+        this.repositoryType = repositoryType;
+        this.executors = precompile ? precompile(repositoryType) : Map.of();
+    }
+
+    @Override
+    public Object invoke(Object instance, Method method, Object[] params) throws Throwable {
+        final MethodExecutor executor = executors.get(method);
+        if (executor != null) {
+            return executor.execute(params);
+        }
+        return super.invoke(instance, method, params);
     }
 
     @Override
     protected Object executeCursorPagination(Object instance, Method method, Object[] params) {
-        // We need to override this because SemiStructuredRepositoryProxy
-        // expects the semistructured.PreparedStatement template
-        throw new UnsupportedOperationException("Not supported yet.");
+        if (method.isAnnotationPresent(Query.class)) {
+            // We need to override this because SemiStructuredRepositoryProxy
+            // expects the semistructured.PreparedStatement template
+            throw new UnsupportedOperationException("Cursor pagination is not supported for @Query methods: " + method);
+        }
+        // derived queries go to PersistenceDocumentTemplate.selectCursor
+        return super.executeCursorPagination(instance, method, params);
+    }
+
+    /**
+     * Translates the queries of the methods derived from the method name, so that they're compiled before
+     * the first call, and parses the JPQL of the methods annotated with {@link Query}. Derived queries are
+     * translated with sample parameters, e.g. a single value of the element type for IN conditions. Methods with
+     * a parameter without a sample value, e.g. a date or an id of another type, are translated on the first call,
+     * a null sample would translate a query of another shape, {@code IS NULL} instead of a comparison.
+     *
+     * @return the problems of the methods whose query can't be translated
+     */
+    public List<RuntimeException> warmup() {
+        List<RuntimeException> problems = new ArrayList<>();
+        for (Method method : repositoryType.getMethods()) {
+            if (method.isDefault() || isBuiltIn(method)) {
+                continue;
+            }
+            try {
+                if (method.isAnnotationPresent(Query.class)) {
+                    template.precompile(method.getAnnotation(Query.class).value());
+                } else if (isDerivedQuery(method)) {
+                    final Object[] params = sampleParameters(method);
+                    if (params != null) {
+                        final DerivedQuery query = DerivedQuery.of(method, entityMetadata());
+                        template.precompile(query.bind(params), operation(method));
+                    }
+                }
+            } catch (RuntimeException e) {
+                problems.add(new IllegalStateException("The query of the repository method " + method
+                        + " can't be translated: " + e.getMessage(), e));
+            }
+        }
+        return problems;
+    }
+
+    private static Operation operation(Method method) {
+        if (method.getName().startsWith("count")) {
+            return Operation.COUNT;
+        } else if (method.getName().startsWith("exists")) {
+            return Operation.EXISTS;
+        }
+        return Operation.SELECT;
+    }
+
+    /**
+     * Returns a sample value for each parameter, or null if a parameter has no sample value. Only the sorts
+     * and orders, which don't change the shape of the query, may be null.
+     */
+    private static Object[] sampleParameters(Method method) {
+        final Type[] types = method.getGenericParameterTypes();
+        final Object[] params = new Object[types.length];
+        for (int index = 0; index < types.length; index++) {
+            final Class<?> type = method.getParameterTypes()[index];
+            if (Iterable.class.isAssignableFrom(type)) {
+                final Object element = types[index] instanceof ParameterizedType parameterized
+                        && parameterized.getActualTypeArguments()[0] instanceof Class<?> elementType
+                        ? sampleParameter(elementType) : null;
+                if (element == null) {
+                    return null;
+                }
+                params[index] = Set.class.isAssignableFrom(type) ? Set.of(element) : List.of(element);
+            } else {
+                params[index] = sampleParameter(type);
+                if (params[index] == null && !isSort(type)) {
+                    return null;
+                }
+            }
+        }
+        return params;
+    }
+
+    private static boolean isSort(Class<?> type) {
+        return Sort.class.equals(type) || Order.class.equals(type) || Sort[].class.equals(type);
+    }
+
+    private static Object sampleParameter(Class<?> type) {
+        final Class<?> primitive = MethodType.methodType(type).unwrap().returnType();
+        if (primitive.isPrimitive() && primitive != void.class) {
+            // the default value of the primitive type
+            return Array.get(Array.newInstance(primitive, 1), 0);
+        } else if (String.class.equals(type)) {
+            return "";
+        } else if (type.isEnum()) {
+            return type.getEnumConstants().length > 0 ? type.getEnumConstants()[0] : null;
+        } else if (Limit.class.equals(type)) {
+            return Limit.of(1);
+        } else if (PageRequest.class.equals(type)) {
+            return PageRequest.ofSize(1);
+        }
+        return null;
+    }
+
+    private Map<Method, MethodExecutor> precompile(Class<?> repositoryType) {
+        Map<Method, MethodExecutor> table = new HashMap<>();
+        for (Method method : repositoryType.getMethods()) {
+            if (!method.isDefault()) {
+                final MethodExecutor executor;
+                if (isBuiltIn(method)) {
+                    executor = builtInExecutor(method);
+                } else if (method.isAnnotationPresent(Update.class)) {
+                    executor = partialUpdateExecutor(method);
+                } else {
+                    executor = derivedQueryExecutor(method);
+                }
+                if (executor != null) {
+                    table.put(method, executor);
+                }
+            }
+        }
+        return Map.copyOf(table);
+    }
+
+    private MethodExecutor builtInExecutor(Method method) {
+        if (method.getParameterCount() != 1 || !Iterable.class.isAssignableFrom(method.getParameterTypes()[0])) {
+            return null;
+        }
+        // the default implementations delete the entities one by one
+        final Class<Object> type = (Class<Object>) entityMetadata().type();
+        return switch (method.getName()) {
+            case "deleteByIdIn" -> params -> {
+                template.deleteByIds(type, (Iterable<?>) params[0]);
+                return null;
+            };
+            case "deleteAll" -> params -> {
+                template.deleteAll(type, (Iterable<Object>) params[0]);
+                return null;
+            };
+            default -> null;
+        };
+    }
+
+    /**
+     * {@link Update} methods with the id of the entity annotated with {@code @By(By.ID)} and the attributes to set as the
+     * other parameters, named with {@link Param} or by the name of the parameter if it's compiled with the names.
+     * They're executed as a single update statement, without loading the entity. The entity is only selected by
+     * its id, other parameters annotated with {@link By} are rejected. Updates of whole entities are left to
+     * {@link SemiStructuredRepositoryProxy}.
+     */
+    private MethodExecutor partialUpdateExecutor(Method method) {
+        final Parameter[] parameters = method.getParameters();
+        int idIndex = -1;
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(By.class) && By.ID.equals(parameters[i].getAnnotation(By.class).value())) {
+                idIndex = i;
+            }
+        }
+        if (idIndex < 0 || parameters.length < 2) {
+            return null;
+        }
+        final String[] attributes = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (i == idIndex) {
+                continue;
+            } else if (parameters[i].isAnnotationPresent(By.class)) {
+                throw new IllegalArgumentException("The parameter " + parameters[i] + " of the repository method "
+                        + method + " is a condition, an update can only select the entity by @By(By.ID)");
+            } else if (parameters[i].isAnnotationPresent(Param.class)) {
+                attributes[i] = parameters[i].getAnnotation(Param.class).value();
+            } else if (parameters[i].isNamePresent()) {
+                attributes[i] = parameters[i].getName();
+            } else {
+                throw new IllegalArgumentException("The parameter " + parameters[i] + " of the repository method "
+                        + method + " must be annotated with @Param");
+            }
+        }
+        final Class<?> type = entityMetadata().type();
+        final int id = idIndex;
+        final MethodExecutor update = params -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < params.length; i++) {
+                if (i != id) {
+                    values.put(attributes[i], params[i]);
+                }
+            }
+            return template.update(type, params[id], values);
+        };
+        final Class<?> returnType = method.getReturnType();
+        if (returnType.equals(void.class) || returnType.equals(Void.class)) {
+            return params -> {
+                update.execute(params);
+                return null;
+            };
+        } else if (returnType.equals(int.class) || returnType.equals(Integer.class)) {
+            return update;
+        } else if (returnType.equals(long.class) || returnType.equals(Long.class)) {
+            return params -> ((Integer) update.execute(params)).longValue();
+        } else if (returnType.equals(boolean.class) || returnType.equals(Boolean.class)) {
+            return params -> ((Integer) update.execute(params)) > 0;
+        }
+        return null;
+    }
+
+    /**
+     * Find, count and exists methods derived from the method name, except finds that return a cursored page or
+     * a single entity, which are left to {@link SemiStructuredRepositoryProxy}. The {@link PersistenceHints}
+     * of the method are applied to all its queries: the query that selects the entities or the projections,
+     * the count and exists queries and the count query of a page.
+     */
+    private MethodExecutor derivedQueryExecutor(Method method) {
+        if (!isDerivedQuery(method)) {
+            return null;
+        }
+        final Class<?> returnType = method.getReturnType();
+        final DerivedQuery query;
+        try {
+            query = DerivedQuery.of(method, entityMetadata());
+        } catch (QueryException e) {
+            // a method whose name can't be parsed fails when it's called, like with SemiStructuredRepositoryProxy
+            return null;
+        }
+        final PersistenceHints hints = method.getAnnotation(PersistenceHints.class);
+        if (method.getName().startsWith("count")) {
+            if (returnType.equals(long.class) || returnType.equals(Long.class)) {
+                return params -> template.count(query.bind(params), hints);
+            } else if (returnType.equals(int.class) || returnType.equals(Integer.class)) {
+                return params -> Math.toIntExact(template.count(query.bind(params), hints));
+            }
+            return null;
+        } else if (method.getName().startsWith("exists")) {
+            if (returnType.equals(boolean.class) || returnType.equals(Boolean.class)) {
+                return params -> template.exists(query.bind(params), hints);
+            }
+            return null;
+        }
+        final Class<?> elementType = elementType(method);
+        if (Page.class.equals(returnType)) {
+            final int pageRequestIndex = Arrays.asList(method.getParameterTypes()).indexOf(PageRequest.class);
+            if (pageRequestIndex < 0 || !entityMetadata().type().equals(elementType)) {
+                return null;
+            }
+            return params -> template.selectPage(query.bind(params), (PageRequest) params[pageRequestIndex], hints);
+        }
+        final Function<SelectQuery, Stream<?>> select;
+        if (entityMetadata().type().equals(elementType)) {
+            select = selectQuery -> template.select(selectQuery, hints);
+        } else if (elementType != null && elementType.isRecord()) {
+            // a projection, only the components of the record are selected
+            select = selectQuery -> template.select(selectQuery, elementType, hints);
+        } else {
+            return null;
+        }
+        final Function<Stream<?>, Object> shaper = resultShaper(returnType, elementType);
+        if (shaper == null) {
+            return null;
+        }
+        return params -> shaper.apply(select.apply(query.bind(params)));
+    }
+
+    private Function<Stream<?>, Object> resultShaper(Class<?> returnType, Class<?> elementType) {
+        if (Stream.class.equals(returnType)) {
+            return stream -> stream;
+        } else if (returnType.isAssignableFrom(List.class)) {
+            return Stream::toList;
+        } else if (Set.class.equals(returnType)) {
+            return stream -> stream.collect(Collectors.toCollection(LinkedHashSet::new));
+        } else if (Optional.class.equals(returnType)) {
+            return JakartaPersistenceRepositoryProxy::single;
+        } else if (returnType.equals(elementType) && elementType.isRecord()) {
+            return stream -> single(stream).orElse(null);
+        }
+        return null;
+    }
+
+    private static Optional<Object> single(Stream<?> stream) {
+        final List<?> result = stream.limit(2).toList();
+        if (result.size() > 1) {
+            throw new NonUniqueResultException("The query returned more than one result");
+        }
+        return result.stream().findFirst().map(Object.class::cast);
+    }
+
+    private static Class<?> elementType(Method method) {
+        final Class<?> returnType = method.getReturnType();
+        if (Stream.class.equals(returnType) || Optional.class.equals(returnType) || Set.class.equals(returnType)
+                || Page.class.equals(returnType) || returnType.isAssignableFrom(List.class)) {
+            if (method.getGenericReturnType() instanceof ParameterizedType parameterized
+                    && parameterized.getActualTypeArguments()[0] instanceof Class<?> type) {
+                return type;
+            }
+            return null;
+        }
+        return returnType;
+    }
+
+    private static boolean isDerivedQuery(Method method) {
+        return DERIVED_QUERY.matcher(method.getName()).matches() && !hasDataAnnotation(method);
+    }
+
+    private static boolean hasDataAnnotation(Method method) {
+        return Arrays.stream(method.getAnnotations())
+                .map(Annotation::annotationType)
+                .anyMatch(type -> type.getPackageName().equals(Query.class.getPackageName()));
+    }
+
+    private static boolean isBuiltIn(Method method) {
+        final String declaringType = method.getDeclaringClass().getName();
+        return declaringType.startsWith("jakarta.data.repository.") || declaringType.startsWith("org.eclipse.jnosql.mapping.");
     }
 
 }
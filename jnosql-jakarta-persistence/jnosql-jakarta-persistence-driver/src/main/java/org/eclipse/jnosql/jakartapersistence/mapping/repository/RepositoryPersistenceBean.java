@@ -15,6 +15,7 @@
 package org.eclipse.jnosql.jakartapersistence.mapping.repository;
 
 import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceDocumentTemplate;
+import org.eclipse.jnosql.jakartapersistence.mapping.ReadReplica;
 import jakarta.data.repository.DataRepository;
 import jakarta.enterprise.context.spi.CreationalContext;
 import org.eclipse.jnosql.mapping.core.Converters;
@@ -78,6 +79,9 @@ public class RepositoryPersistenceBean<T extends DataRepository<T, ?>> extends A
     public T create(CreationalContext<T> context) {
         EntitiesMetadata entities = getInstance(EntitiesMetadata.class);
         var template = getInstance(PersistenceDocumentTemplate.class);
+        if (type.isAnnotationPresent(ReadReplica.class)) {
+            template = template.readingFromReplica();
+        }
 
         Converters converters = getInstance(Converters.class);
 
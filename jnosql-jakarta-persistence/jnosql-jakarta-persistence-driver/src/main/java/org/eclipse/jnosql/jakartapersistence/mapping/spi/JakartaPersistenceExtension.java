@@ -15,12 +15,23 @@
 package org.eclipse.jnosql.jakartapersistence.mapping.spi;
 
 import org.eclipse.jnosql.jakartapersistence.communication.PersistenceClassScanner;
+import org.eclipse.jnosql.jakartapersistence.communication.PersistenceConfigurations;
+import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceDocumentTemplate;
+import org.eclipse.jnosql.jakartapersistence.mapping.ReadReplica;
+import org.eclipse.jnosql.jakartapersistence.mapping.repository.JakartaPersistenceRepositoryProxy;
+import org.eclipse.jnosql.jakartapersistence.mapping.repository.RepositoryPersistenceBean;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
+import jakarta.enterprise.inject.spi.AfterDeploymentValidation;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.Extension;
-import org.eclipse.jnosql.mapping.document.query.RepositoryDocumentBean;
+import org.eclipse.jnosql.mapping.core.Converters;
+import org.eclipse.jnosql.mapping.core.config.MicroProfileSettings;
 import org.eclipse.jnosql.mapping.metadata.ClassScanner;
+import org.eclipse.jnosql.mapping.metadata.EntitiesMetadata;
 
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
 
@@ -28,11 +39,15 @@ import java.util.logging.Logger;
  * This CDI extension, {@code JakartaPersistenceExtension}, observes the CDI container lifecycle events to perform tasks
  * related to Jakarta Persistence repository beans.
  * <p>
+ * If {@link PersistenceConfigurations#WARMUP} is enabled, the queries of the repository methods are translated
+ * after the deployment is validated, and methods whose query can't be translated are reported as deployment problems.
  */
 public class JakartaPersistenceExtension implements Extension {
 
     private static final Logger LOGGER = Logger.getLogger(JakartaPersistenceExtension.class.getName());
 
+    private Set<Class<?>> repositories = Set.of();
+
     void onAfterBeanDiscovery(@Observes final AfterBeanDiscovery afterBeanDiscovery) {
 
         ClassScanner scanner = new PersistenceClassScanner();
@@ -44,8 +59,48 @@ public class JakartaPersistenceExtension implements Extension {
         LOGGER.fine(() -> "Processing repositories as a Jakarta Persistence implementation: " + crudTypes);
 
         crudTypes.forEach(type -> {
-            afterBeanDiscovery.addBean(new RepositoryDocumentBean<>(type, ""));
+            afterBeanDiscovery.addBean(new RepositoryPersistenceBean<>(type, ""));
         });
+        repositories = crudTypes;
+    }
+
+    void onAfterDeploymentValidation(@Observes final AfterDeploymentValidation afterDeploymentValidation,
+            final BeanManager beanManager) {
+        final boolean warmup = MicroProfileSettings.INSTANCE
+                .get(PersistenceConfigurations.WARMUP.get(), Boolean.class)
+                .orElse(false);
+        if (warmup && !repositories.isEmpty()) {
+            warmup(afterDeploymentValidation, beanManager, repositories);
+        }
+    }
+
+    /**
+     * Translates the queries of the repositories and reports the methods whose query can't be translated
+     * as deployment problems, which fail the deployment.
+     */
+    void warmup(AfterDeploymentValidation afterDeploymentValidation, BeanManager beanManager,
+            Set<Class<?>> types) {
+        final long start = System.nanoTime();
+        final PersistenceDocumentTemplate template = reference(beanManager, PersistenceDocumentTemplate.class);
+        final EntitiesMetadata entities = reference(beanManager, EntitiesMetadata.class);
+        final Converters converters = reference(beanManager, Converters.class);
+        for (Class<?> type : types) {
+            try {
+                final PersistenceDocumentTemplate repositoryTemplate = type.isAnnotationPresent(ReadReplica.class)
+                        ? template.readingFromReplica() : template;
+                List<RuntimeException> problems = new JakartaPersistenceRepositoryProxy<>(repositoryTemplate, entities,
+                        type, converters).warmup();
+                problems.forEach(afterDeploymentValidation::addDeploymentProblem);
+            } catch (RuntimeException e) {
+                afterDeploymentValidation.addDeploymentProblem(e);
+            }
+        }
+        LOGGER.info(() -> "Translated the queries of " + types.size() + " repositories in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
 
+    private static <T> T reference(BeanManager beanManager, Class<T> type) {
+        final Bean<?> bean = beanManager.resolve(beanManager.getBeans(type));
+        return type.cast(beanManager.getReference(bean, type, beanManager.createCreationalContext(bean)));
     }
 }
\ No newline at end of file
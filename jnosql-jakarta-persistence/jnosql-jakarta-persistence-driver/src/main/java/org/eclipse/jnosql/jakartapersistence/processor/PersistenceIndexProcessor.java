@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the types annotated with {@code jakarta.nosql.Entity}, {@code jakarta.nosql.Embeddable} and
+ * {@code jakarta.data.repository.Repository} to {@value #INDEX_RESOURCE} at compile time, so that they're
+ * found at runtime without scanning the classpath. Each line of the index is the kind of the type,
+ * a space and the binary name of the type.
+ * <p>
+ * An incremental compilation only processes the recompiled types, so the lines of an existing index whose types
+ * still exist with the same annotation are kept.
+ */
+@SupportedAnnotationTypes({PersistenceIndexProcessor.ENTITY,
+        PersistenceIndexProcessor.EMBEDDABLE,
+        PersistenceIndexProcessor.REPOSITORY})
+public class PersistenceIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_RESOURCE = "META-INF/jnosql/jakarta-persistence.idx";
+
+    public static final String ENTITY_KIND = "entity";
+
+    public static final String EMBEDDABLE_KIND = "embeddable";
+
+    public static final String REPOSITORY_KIND = "repository";
+
+    static final String ENTITY = "jakarta.nosql.Entity";
+
+    static final String EMBEDDABLE = "jakarta.nosql.Embeddable";
+
+    static final String REPOSITORY = "jakarta.data.repository.Repository";
+
+    private final Set<String> lines = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (TypeElement annotation : annotations) {
+            final String kind = switch (annotation.getQualifiedName().toString()) {
+                case ENTITY -> ENTITY_KIND;
+                case EMBEDDABLE -> EMBEDDABLE_KIND;
+                default -> REPOSITORY_KIND;
+            };
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type) {
+                    lines.add(kind + ' ' + processingEnv.getElementUtils().getBinaryName(type));
+                }
+            }
+        }
+        if (round.processingOver()) {
+            readExistingIndex();
+            if (!lines.isEmpty()) {
+                writeIndex();
+            }
+        }
+        return false;
+    }
+
+    private void readExistingIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines().map(String::strip).filter(this::isStillAnnotated).forEach(lines::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // there's no index from a previous compilation
+        }
+    }
+
+    private boolean isStillAnnotated(String line) {
+        final String[] parts = line.split(" ");
+        if (parts.length != 2) {
+            return false;
+        }
+        final String annotation = switch (parts[0]) {
+            case ENTITY_KIND -> ENTITY;
+            case EMBEDDABLE_KIND -> EMBEDDABLE;
+            case REPOSITORY_KIND -> REPOSITORY;
+            default -> null;
+        };
+        final TypeElement type = processingEnv.getElementUtils().getTypeElement(parts[1].replace('$', '.'));
+        if (annotation == null || type == null) {
+            return false;
+        }
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (PrintWriter writer = new PrintWriter(
+                    new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8))) {
+                lines.forEach(writer::println);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not write " + INDEX_RESOURCE + ", the classpath will be scanned at runtime: " + e);
+        }
+    }
+}
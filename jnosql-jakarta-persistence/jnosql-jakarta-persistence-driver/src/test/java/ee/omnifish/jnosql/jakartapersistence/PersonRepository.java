@@ -14,16 +14,36 @@
  */
 package ee.omnifish.jnosql.jakartapersistence;
 
+import jakarta.data.Limit;
+import jakarta.data.page.CursoredPage;
+import jakarta.data.page.Page;
+import jakarta.data.page.PageRequest;
+import jakarta.data.repository.By;
 import jakarta.data.repository.CrudRepository;
+import jakarta.data.repository.Param;
 import jakarta.data.repository.Repository;
+import jakarta.data.repository.Update;
 import java.util.List;
 import java.util.Set;
+import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceHints;
 
 @Repository
 public interface PersonRepository extends CrudRepository<Person, String> {
     long countAll();
     long countByNameNotNull();
+    boolean existsByName(String name);
     List<Person> findByNameAndAgeLessThanEqual(String name, long age);
     List<Person> findByNameIn(Set<String> names);
+    List<Person> findByNameLikeOrAgeGreaterThan(String pattern, long age);
+    List<PersonSummary> findByAgeLessThanOrderByAgeAsc(long age);
+    @PersistenceHints(readOnly = true, fetchSize = 100, timeout = 5000)
+    List<Person> findByAgeBetween(long min, long max);
+    @Update
+    int updateAge(@By(By.ID) long id, @Param("age") long age);
+    List<Person> findByAgeGreaterThanEqualOrderByAgeDesc(long age, Limit limit);
+    void deleteByAgeGreaterThan(long age);
+    CursoredPage<Person> findByAgeGreaterThanOrderByAgeAsc(long age, PageRequest pageRequest);
+    @PersistenceHints(timeout = 5000)
+    Page<Person> findByAgeGreaterThanEqualOrderByNameAsc(long age, PageRequest pageRequest);
 }
 
@@ -16,16 +16,24 @@ package ee.omnifish.jnosql.jakartapersistence;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 
+import jakarta.data.Limit;
+import jakarta.data.page.CursoredPage;
+import jakarta.data.page.Page;
+import jakarta.data.page.PageRequest;
 import jakarta.enterprise.inject.se.SeContainer;
 import jakarta.enterprise.inject.se.SeContainerInitializer;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Set;
+import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceDocumentTemplate;
+import org.eclipse.jnosql.jakartapersistence.mapping.QueryCacheStatistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -82,6 +90,15 @@ public class PersonRepositoryTest {
         assertThat(count, greaterThan(0L));
     }
 
+    @Test
+    void existsByX() {
+        new PersonBuilder().name("Jakarta").insert(personRepo);
+        new PersonBuilder().name("Jakarta").insert(personRepo);
+
+        assertThat(personRepo.existsByName("Jakarta"), is(true));
+        assertThat(personRepo.existsByName("JNoSQL"), is(false));
+    }
+
     @Test
     void findByXAndYLessThanEqual() {
         final String NAME = "Jakarta";
@@ -105,6 +122,161 @@ public class PersonRepositoryTest {
         assertThat(persons, hasSize(3));
     }
 
+    @Test
+    void findByXLikeOrYGreaterThan() {
+        new PersonBuilder().name("Jakarta").age(10).insert(personRepo);
+        new PersonBuilder().name("JNoSQL").age(20).insert(personRepo);
+        new PersonBuilder().name("Data").age(40).insert(personRepo);
+        new PersonBuilder().name("Persistence").age(30).insert(personRepo);
+
+        final List<Person> persons = personRepo.findByNameLikeOrAgeGreaterThan("J%", 35);
+        assertThat(persons.stream().map(Person::getName).toList(), containsInAnyOrder("Jakarta", "JNoSQL", "Data"));
+    }
+
+    @Test
+    void findWithReadOnlyHint() {
+        new PersonBuilder().name("Ada").age(20).insert(personRepo);
+        new PersonBuilder().name("Grace").age(40).insert(personRepo);
+        getEntityManager().flush();
+        getEntityManager().clear();
+
+        final List<Person> persons = personRepo.findByAgeBetween(10, 30);
+        assertThat(persons.stream().map(Person::getName).toList(), contains("Ada"));
+        assertThat("read-only entities are not managed", getEntityManager().contains(persons.get(0)), is(false));
+    }
+
+    @Test
+    void updateAttributeById() {
+        final Person person = new PersonBuilder().name("Ada").age(20).build();
+        personRepo.insert(person);
+        getEntityManager().flush();
+        getEntityManager().clear();
+
+        assertThat("updated entities", personRepo.updateAge(person.getId(), 21), is(1));
+        assertThat("updated entities", personRepo.updateAge(person.getId() + 1, 21), is(0));
+        assertThat(getEntityManager().find(Person.class, person.getId()).getAge(), is(21L));
+    }
+
+    @Test
+    void findPageWithTotal() {
+        new PersonBuilder().name("Ada").age(20).insert(personRepo);
+        new PersonBuilder().name("Grace").age(40).insert(personRepo);
+        new PersonBuilder().name("Linus").age(30).insert(personRepo);
+        new PersonBuilder().name("Dennis").age(10).insert(personRepo);
+        getEntityManager().getTransaction().commit();
+        try {
+            // the total is counted concurrently outside a transaction
+            final Page<Person> first = personRepo.findByAgeGreaterThanEqualOrderByNameAsc(20, PageRequest.ofSize(2));
+            assertThat(first.stream().map(Person::getName).toList(), contains("Ada", "Grace"));
+            assertThat(first.hasNext(), is(true));
+            assertThat(first.totalElements(), is(3L));
+            assertThat(first.totalPages(), is(2L));
+        } finally {
+            getEntityManager().getTransaction().begin();
+        }
+
+        final Page<Person> first = personRepo.findByAgeGreaterThanEqualOrderByNameAsc(20, PageRequest.ofSize(2));
+        assertThat(first.totalElements(), is(3L));
+
+        final Page<Person> second = personRepo.findByAgeGreaterThanEqualOrderByNameAsc(20, first.nextPageRequest());
+        assertThat(second.stream().map(Person::getName).toList(), contains("Linus"));
+        assertThat(second.hasNext(), is(false));
+        assertThat(second.totalElements(), is(3L));
+
+        final Page<Person> withoutTotal = personRepo.findByAgeGreaterThanEqualOrderByNameAsc(20,
+                PageRequest.ofSize(2).withoutTotal());
+        assertThat(withoutTotal.numberOfElements(), is(2));
+        assertThat(withoutTotal.hasTotals(), is(false));
+    }
+
+    @Test
+    void findRecordProjection() {
+        new PersonBuilder().name("Ada").age(20).insert(personRepo);
+        new PersonBuilder().name("Grace").age(40).insert(personRepo);
+        new PersonBuilder().name("Linus").age(30).insert(personRepo);
+
+        final List<PersonSummary> summaries = personRepo.findByAgeLessThanOrderByAgeAsc(35);
+        assertThat(summaries, contains(new PersonSummary("Ada", 20), new PersonSummary("Linus", 30)));
+    }
+
+    @Test
+    void findByXOrderByYWithLimit() {
+        new PersonBuilder().name("Ada").age(20).insert(personRepo);
+        new PersonBuilder().name("Grace").age(40).insert(personRepo);
+        new PersonBuilder().name("Linus").age(30).insert(personRepo);
+        new PersonBuilder().name("Young").age(10).insert(personRepo);
+
+        final List<Person> persons = personRepo.findByAgeGreaterThanEqualOrderByAgeDesc(20, Limit.of(2));
+        assertThat(persons.stream().map(Person::getName).toList(), contains("Grace", "Linus"));
+    }
+
+    @Test
+    void cursoredPages() {
+        new PersonBuilder().name("Ada").age(10).insert(personRepo);
+        new PersonBuilder().name("Grace").age(20).insert(personRepo);
+        new PersonBuilder().name("Linus").age(30).insert(personRepo);
+        new PersonBuilder().name("Ken").age(40).insert(personRepo);
+        new PersonBuilder().name("Barbara").age(50).insert(personRepo);
+
+        final CursoredPage<Person> first = personRepo.findByAgeGreaterThanOrderByAgeAsc(0, PageRequest.ofSize(2));
+        assertThat(names(first), contains("Ada", "Grace"));
+        assertThat(first.hasNext(), is(true));
+
+        final CursoredPage<Person> second = personRepo.findByAgeGreaterThanOrderByAgeAsc(0, first.nextPageRequest());
+        assertThat(names(second), contains("Linus", "Ken"));
+
+        final CursoredPage<Person> third = personRepo.findByAgeGreaterThanOrderByAgeAsc(0, second.nextPageRequest());
+        assertThat(names(third), contains("Barbara"));
+        assertThat(third.hasNext(), is(false));
+
+        final CursoredPage<Person> previous = personRepo.findByAgeGreaterThanOrderByAgeAsc(0, second.previousPageRequest());
+        assertThat(names(previous), contains("Ada", "Grace"));
+        assertThat(previous.hasPrevious(), is(false));
+    }
+
+    private static List<String> names(CursoredPage<Person> page) {
+        return page.content().stream().map(Person::getName).toList();
+    }
+
+    @Test
+    void deleteByXGreaterThan() {
+        new PersonBuilder().name("Ada").age(20).insert(personRepo);
+        new PersonBuilder().name("Grace").age(40).insert(personRepo);
+        new PersonBuilder().name("Linus").age(30).insert(personRepo);
+
+        personRepo.deleteByAgeGreaterThan(25);
+
+        assertThat(personRepo.findAll().map(Person::getName).toList(), contains("Ada"));
+    }
+
+    @Test
+    void deleteAllEntitiesInBulk() {
+        final Person ada = new PersonBuilder().name("Ada").build();
+        final Person grace = new PersonBuilder().name("Grace").build();
+        final Person linus = new PersonBuilder().name("Linus").build();
+        personRepo.insertAll(List.of(ada, grace, linus));
+
+        personRepo.deleteAll(List.of(ada, linus));
+
+        assertThat(personRepo.findAll().map(Person::getName).toList(), contains("Grace"));
+    }
+
+    @Test
+    void queryOfSameShapeIsCompiledOnce() {
+        new PersonBuilder().name("Ada").age(20).insert(personRepo);
+        new PersonBuilder().name("Grace").age(40).insert(personRepo);
+        final PersistenceDocumentTemplate template = cdiContainer.select(PersistenceDocumentTemplate.class).get();
+
+        assertThat(personRepo.findByNameAndAgeLessThanEqual("Ada", 30), hasSize(1));
+        final QueryCacheStatistics before = template.queryCacheStatistics();
+        assertThat(personRepo.findByNameAndAgeLessThanEqual("Grace", 30), is(empty()));
+        assertThat(personRepo.findByNameAndAgeLessThanEqual("Grace", 50), hasSize(1));
+        final QueryCacheStatistics after = template.queryCacheStatistics();
+
+        assertThat(after.hits() - before.hits(), is(2L));
+        assertThat(after.misses(), is(before.misses()));
+    }
+
     @Test
     void hermesParser() {
         getEntityManager().createQuery("UPDATE Person SET length = age + 1");
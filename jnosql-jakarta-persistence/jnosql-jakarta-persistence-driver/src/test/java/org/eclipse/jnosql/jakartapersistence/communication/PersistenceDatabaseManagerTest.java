@@ -0,0 +1,234 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.communication;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import ee.omnifish.jnosql.jakartapersistence.EntityManagerProducer;
+import ee.omnifish.jnosql.jakartapersistence.Person;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PersistenceDatabaseManagerTest {
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+
+    @BeforeEach
+    void init() {
+        emf = Persistence.createEntityManagerFactory("testPersistenceUnit");
+        em = emf.createEntityManager();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    void sharedModeUsesInjectedEntityManager() {
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em);
+
+        assertThat(manager.getEntityManager(), is(sameInstance(em)));
+    }
+
+    @Test
+    void threadModeUsesEntityManagerPerThread() {
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.THREAD, null);
+
+        final EntityManager first = manager.getEntityManager();
+        final EntityManager otherThread = CompletableFuture.supplyAsync(manager::getEntityManager).join();
+
+        assertThat(first, is(not(sameInstance(em))));
+        assertThat(manager.getEntityManager(), is(sameInstance(first)));
+        assertThat(otherThread, is(not(sameInstance(first))));
+
+        manager.release();
+        assertThat(first.isOpen(), is(false));
+        assertThat(manager.getEntityManager(), is(not(sameInstance(first))));
+
+        manager.close();
+        assertThat(otherThread.isOpen(), is(false));
+    }
+
+    @Test
+    void readReplicaUsesEntityManagerPerThread() {
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.SHARED, null,
+                "testPersistenceUnit");
+        final PersistenceDatabaseManager replica = manager.readReplica().orElseThrow();
+
+        final EntityManager first = replica.getEntityManager();
+        final EntityManager otherThread = CompletableFuture.supplyAsync(replica::getEntityManager).join();
+
+        assertThat(replica.getEntityManagerMode(), is(EntityManagerMode.THREAD));
+        assertThat(first, is(not(sameInstance(em))));
+        assertThat(otherThread, is(not(sameInstance(first))));
+
+        manager.close();
+        assertThat(first.isOpen(), is(false));
+    }
+
+    @Test
+    void threadModeClosesEntityManagersOfEndedThreads() throws InterruptedException {
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.THREAD, null);
+        final List<EntityManager> ended = new ArrayList<>();
+        for (int index = 0; index < PersistenceDatabaseManager.SWEEP_THRESHOLD; index++) {
+            final Thread thread = new Thread(() -> ended.add(manager.getEntityManager()));
+            thread.start();
+            thread.join();
+        }
+        assertThat("the entity managers are swept once the threshold is reached", ended.get(0).isOpen(), is(true));
+
+        final EntityManager current = manager.getEntityManager();
+
+        assertThat(ended.stream().noneMatch(EntityManager::isOpen), is(true));
+        assertThat(current.isOpen(), is(true));
+        manager.close();
+    }
+
+    @Test
+    void threadModeKeepsEntitiesOfCallsOutsideTransaction() {
+        final Person person = new Person();
+        person.setName("Ada");
+        em.getTransaction().begin();
+        em.persist(person);
+        em.getTransaction().commit();
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.THREAD, null);
+
+        final Person found = manager.getEntityManager().find(Person.class, person.getId());
+
+        assertThat(manager.isInTransaction(), is(false));
+        assertThat(manager.getEntityManager().contains(found), is(true));
+        manager.release();
+        assertThat(manager.getEntityManager().contains(found), is(false));
+        manager.close();
+    }
+
+    @Test
+    void threadModeKeepsPersistenceContextForTransaction() {
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.THREAD, null);
+        final Person person = new Person();
+        person.setName("Ada");
+
+        manager.getEntityManager().getTransaction().begin();
+        manager.getEntityManager().persist(person);
+        assertThat(manager.isInTransaction(), is(true));
+        assertThat(manager.getEntityManager().contains(person), is(true));
+        manager.getEntityManager().getTransaction().commit();
+
+        assertThat(manager.getEntityManager().contains(person), is(false));
+        assertThat(em.find(Person.class, person.getId()), is(notNullValue()));
+        manager.close();
+    }
+
+    @Test
+    void requestModeUsesEntityManagerPerRequest() {
+        try (SeContainer container = SeContainerInitializer.newInstance()
+                .addBeanClasses(EntityManagerProducer.class)
+                .initialize()) {
+            final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.REQUEST,
+                    container.select(RequestEntityManager.class));
+            final RequestContextController requestContext = container.select(RequestContextController.class).get();
+
+            requestContext.activate();
+            EntityManager requestEm;
+            try {
+                requestEm = manager.getEntityManager();
+                assertThat(requestEm, is(not(sameInstance(em))));
+                assertThat(manager.getEntityManager(), is(sameInstance(requestEm)));
+                assertThat(CompletableFuture.supplyAsync(manager::getEntityManager).join(),
+                        is(not(sameInstance(requestEm))));
+            } finally {
+                requestContext.deactivate();
+            }
+            assertThat(requestEm.isOpen(), is(false));
+
+            final EntityManager outsideRequest = manager.getEntityManager();
+            assertThat(outsideRequest, is(not(sameInstance(requestEm))));
+            manager.close();
+            assertThat(outsideRequest.isOpen(), is(false));
+        }
+    }
+
+    @Test
+    void requestModeWritesWithTransactionOfRequest() {
+        try (SeContainer container = SeContainerInitializer.newInstance()
+                .addBeanClasses(EntityManagerProducer.class)
+                .initialize()) {
+            final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.REQUEST,
+                    container.select(RequestEntityManager.class));
+            final RequestContextController requestContext = container.select(RequestContextController.class).get();
+            final Person person = new Person();
+            person.setName("Grace");
+
+            requestContext.activate();
+            try {
+                manager.getEntityManager().getTransaction().begin();
+                manager.getEntityManager().persist(person);
+                manager.getEntityManager().getTransaction().commit();
+            } finally {
+                requestContext.deactivate();
+            }
+
+            assertThat(em.find(Person.class, person.getId()), is(notNullValue()));
+            manager.close();
+        }
+    }
+
+    @Test
+    void readReplicaIsCreatedFromConfiguredPersistenceUnit() {
+        assertThat(new PersistenceDatabaseManager(em).readReplica().isPresent(), is(false));
+
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em, EntityManagerMode.SHARED, null,
+                "testPersistenceUnit");
+        final PersistenceDatabaseManager replica = manager.readReplica().orElseThrow();
+        final EntityManager replicaEm = replica.getEntityManager();
+
+        assertThat(replicaEm.getEntityManagerFactory(), is(not(sameInstance(emf))));
+        assertThat(manager.readReplica().orElseThrow(), is(sameInstance(replica)));
+
+        manager.close();
+        assertThat(replicaEm.isOpen(), is(false));
+    }
+
+    @Test
+    void activeTransactionIsDetected() {
+        final PersistenceDatabaseManager manager = new PersistenceDatabaseManager(em);
+
+        assertThat(manager.isInTransaction(), is(false));
+        em.getTransaction().begin();
+        try {
+            assertThat(manager.isInTransaction(), is(true));
+        } finally {
+            em.getTransaction().rollback();
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.communication;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Creates managers configured like by MicroProfile Config for the tests of other packages.
+ */
+public final class PersistenceDatabaseManagers {
+
+    private PersistenceDatabaseManagers() {
+    }
+
+    public static PersistenceDatabaseManager withReadReplica(EntityManager em, String readPersistenceUnit) {
+        return new PersistenceDatabaseManager(em, EntityManagerMode.SHARED, null, readPersistenceUnit);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.communication;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+
+import ee.omnifish.jnosql.jakartapersistence.Person;
+import ee.omnifish.jnosql.jakartapersistence.PersonRepository;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import javax.tools.ToolProvider;
+import org.eclipse.jnosql.jakartapersistence.processor.PersistenceIndexProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PersistenceIndexTest {
+
+    @Test
+    void indexIsWrittenWhenTestsAreCompiled() {
+        final Optional<PersistenceIndex> index = PersistenceIndex.read(getClass().getClassLoader());
+
+        assertThat(index.isPresent(), is(true));
+        assertThat(index.get().repositories(), hasItem(PersonRepository.class));
+    }
+
+    @Test
+    void scanIsRestrictedToPackages() {
+        final PersistenceIndex index = PersistenceIndex.scan(List.of("ee.omnifish.jnosql.jakartapersistence"));
+
+        assertThat(index.repositories(), hasItem(PersonRepository.class));
+        assertThat(index.repositories().stream().allMatch(type -> type.getPackageName()
+                .startsWith("ee.omnifish.jnosql.jakartapersistence")), is(true));
+    }
+
+    @Test
+    void rootsWithoutIndexAreScannedForPackages(@TempDir Path directory) throws Exception {
+        try (URLClassLoader loader = indexedAndNotIndexedRoots(directory)) {
+            final PersistenceIndex merged = PersistenceIndex.load(loader,
+                    List.of("notindexed", "ee.omnifish.jnosql.jakartapersistence"));
+
+            assertThat(merged.entities().stream().map(Class::getName).toList(),
+                    hasItems(Person.class.getName(), "notindexed.Book"));
+            assertThat(merged.entities().stream().filter(Person.class::equals).count(), is(1L));
+        }
+    }
+
+    @Test
+    void classpathIsNotScannedWithIndexAndWithoutPackages(@TempDir Path directory) throws Exception {
+        try (URLClassLoader loader = indexedAndNotIndexedRoots(directory)) {
+            final PersistenceIndex index = PersistenceIndex.load(loader, List.of());
+
+            assertThat(index.entities().stream().map(Class::getName).toList(), hasItem(Person.class.getName()));
+            assertThat(index.entities().stream().map(Class::getName).toList(), not(hasItem("notindexed.Book")));
+        }
+    }
+
+    /**
+     * Returns a class loader of a root with an index of {@link Person} and a root without an index with
+     * the entity {@code notindexed.Book}.
+     */
+    private URLClassLoader indexedAndNotIndexedRoots(Path directory) throws Exception {
+        final Path indexed = directory.resolve("indexed");
+        final Path index = indexed.resolve(PersistenceIndexProcessor.INDEX_RESOURCE);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, PersistenceIndexProcessor.ENTITY_KIND + " " + Person.class.getName() + "\n");
+        final Path notIndexed = Files.createDirectories(directory.resolve("not-indexed"));
+        final Path source = directory.resolve("sources/notindexed/Book.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "package notindexed;\n@jakarta.nosql.Entity\npublic class Book {\n}\n");
+        final int status = ToolProvider.getSystemJavaCompiler().run(null, null, null, "-proc:none",
+                "-cp", System.getProperty("java.class.path"), "-d", notIndexed.toString(), source.toString());
+        assertThat(status, is(0));
+        return new URLClassLoader(new URL[]{indexed.toUri().toURL(), notIndexed.toUri().toURL()},
+                getClass().getClassLoader());
+    }
+
+}
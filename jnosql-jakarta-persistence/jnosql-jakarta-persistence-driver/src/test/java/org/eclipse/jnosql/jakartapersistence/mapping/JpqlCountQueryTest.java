@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class JpqlCountQueryTest {
+
+    @Test
+    void selectOfEntityIsCounted() {
+        assertThat(JpqlCountQuery.of("SELECT p FROM Person p WHERE p.age > :age ORDER BY p.name"),
+                is(Optional.of("SELECT COUNT(p) FROM Person p WHERE p.age > :age")));
+    }
+
+    @Test
+    void distinctSelectIsCountedDistinct() {
+        assertThat(JpqlCountQuery.of("select distinct p from Person p join p.phones ph"),
+                is(Optional.of("SELECT COUNT(DISTINCT p) from Person p join p.phones ph")));
+    }
+
+    @Test
+    void queryWithoutSelectCountsImplicitAlias() {
+        assertThat(JpqlCountQuery.of("FROM Person WHERE name = 'order by' ORDER BY age"),
+                is(Optional.of("SELECT COUNT(this) FROM Person WHERE name = 'order by'")));
+        assertThat(JpqlCountQuery.of("FROM Person p WHERE p.name = :name"),
+                is(Optional.of("SELECT COUNT(p) FROM Person p WHERE p.name = :name")));
+    }
+
+    @Test
+    void computedOrGroupedSelectIsNotRewritten() {
+        assertThat(JpqlCountQuery.of("SELECT p.name, p.age FROM Person p"), is(Optional.empty()));
+        assertThat(JpqlCountQuery.of("SELECT MAX(p.age) FROM Person p"), is(Optional.empty()));
+        assertThat(JpqlCountQuery.of("SELECT p.name FROM Person p GROUP BY p.name"), is(Optional.empty()));
+    }
+
+    @Test
+    void selectOfAttributeIsNotRewritten() {
+        // COUNT(p.name) would skip the persons without a name
+        assertThat(JpqlCountQuery.of("SELECT p.name FROM Person p"), is(Optional.empty()));
+        assertThat(JpqlCountQuery.of("SELECT DISTINCT p.name FROM Person p"), is(Optional.empty()));
+    }
+
+    @Test
+    void fetchJoinIsNotRewritten() {
+        assertThat(JpqlCountQuery.of("SELECT p FROM Person p JOIN FETCH p.phones"), is(Optional.empty()));
+        assertThat(JpqlCountQuery.of("FROM Person p LEFT JOIN FETCH p.phones WHERE p.age > :age"),
+                is(Optional.empty()));
+    }
+
+    @Test
+    void countQueryIsRecognized() {
+        assertThat(JpqlCountQuery.isCount("select count(p) from Person p"), is(true));
+        assertThat(JpqlCountQuery.isCount("SELECT p FROM Person p"), is(false));
+    }
+
+}
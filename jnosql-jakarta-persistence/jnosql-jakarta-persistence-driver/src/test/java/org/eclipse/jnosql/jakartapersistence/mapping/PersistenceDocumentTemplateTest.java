@@ -0,0 +1,232 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import ee.omnifish.jnosql.jakartapersistence.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.eclipse.jnosql.communication.semistructured.DeleteQuery;
+import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseManager;
+import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseManagers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PersistenceDocumentTemplateTest {
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private PersistenceDocumentTemplate template;
+
+    @BeforeEach
+    void init() {
+        emf = Persistence.createEntityManagerFactory("testPersistenceUnit");
+        em = emf.createEntityManager();
+        template = new PersistenceDocumentTemplate(new PersistenceDatabaseManager(em),
+                new PersistenceSettings(0, 512, 0, 2));
+        em.getTransaction().begin();
+        em.createQuery("delete from Person p").executeUpdate();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (em.getTransaction().isActive()) {
+            em.getTransaction().rollback();
+        }
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    void insertIterableInBatches() {
+        final List<Person> persons = persons(5);
+
+        final Iterable<Person> inserted = template.insert(persons);
+        em.getTransaction().commit();
+
+        final List<Long> ids = new ArrayList<>();
+        inserted.forEach(person -> ids.add(person.getId()));
+        assertThat(ids, everyItem(greaterThan(0L)));
+        assertThat(template.count(Person.class), is(5L));
+    }
+
+    @Test
+    void updateIterableInBatches() {
+        template.insert(persons(5));
+        em.getTransaction().commit();
+        em.clear();
+        final List<Person> persons = template.findAll(Person.class).toList();
+        persons.forEach(person -> person.setAge(42));
+
+        em.getTransaction().begin();
+        template.update(persons);
+        em.getTransaction().commit();
+        em.clear();
+
+        assertThat(template.findAll(Person.class).allMatch(person -> person.getAge() == 42), is(true));
+    }
+
+    @Test
+    void deleteQueryAndDeleteAllAreBulkStatements() {
+        final List<Person> persons = persons(5);
+        persons.get(0).setAge(10);
+        template.insert(persons);
+        em.flush();
+
+        template.delete(DeleteQuery.delete().from("Person").where("age").gt(5L).build());
+        assertThat(template.count(Person.class), is(4L));
+
+        template.deleteAll(Person.class);
+        assertThat(template.count(Person.class), is(0L));
+    }
+
+    @Test
+    void deleteByIdsInChunks() {
+        template = new PersistenceDocumentTemplate(new PersistenceDatabaseManager(em),
+                new PersistenceSettings(0, 2, 0, 2));
+        final List<Person> persons = persons(5);
+        template.insert(persons);
+        em.flush();
+
+        template.deleteByIds(Person.class, persons.subList(0, 4).stream().map(Person::getId).toList());
+
+        assertThat(template.count(Person.class), is(1L));
+    }
+
+    @Test
+    void bulkDeleteDetachesManagedEntities() {
+        final List<Person> persons = persons(3);
+        template.insert(persons);
+
+        template.deleteByIds(Person.class, List.of(persons.get(0).getId()));
+
+        assertThat(em.contains(persons.get(0)), is(false));
+        assertThat(template.count(Person.class), is(2L));
+        assertThat(template.find(Person.class, persons.get(0).getId()).isPresent(), is(false));
+    }
+
+    @Test
+    void deleteByIdKeepsChangesOfOtherManagedEntities() {
+        final List<Person> persons = persons(2);
+        template.insert(persons);
+        em.getTransaction().commit();
+        final Person kept = persons.get(1);
+
+        em.getTransaction().begin();
+        kept.setAge(42);
+        template.delete(Person.class, persons.get(0).getId());
+        kept.setName("Changed after the delete");
+        em.getTransaction().commit();
+        em.clear();
+
+        final Person stored = template.find(Person.class, kept.getId()).orElseThrow();
+        assertThat(stored.getAge(), is(42L));
+        assertThat(stored.getName(), is("Changed after the delete"));
+        assertThat(template.count(Person.class), is(1L));
+    }
+
+    @Test
+    void partialUpdateEvictsEntityFromSecondLevelCache() {
+        final Person person = persons(1).get(0);
+        template.insert(person);
+        em.getTransaction().commit();
+        em.clear();
+        assertThat(template.find(Person.class, person.getId()).orElseThrow().getAge(), is(0L));
+        em.clear();
+
+        em.getTransaction().begin();
+        assertThat(template.update(Person.class, person.getId(), Map.of("age", 42L)), is(1));
+        em.getTransaction().commit();
+
+        assertThat(template.find(Person.class, person.getId()).orElseThrow().getAge(), is(42L));
+    }
+
+    @Test
+    void preparedUpdateReturnsUpdateCount() {
+        template.insert(persons(3));
+        em.flush();
+
+        final List<Object> result = template.prepare("UPDATE Person p SET p.age = :age")
+                .bind("age", 42L)
+                .<Object>result()
+                .toList();
+
+        assertThat(result, contains(3));
+    }
+
+    @Test
+    void preparedQueryIsRegisteredAsNamedQueryWithDefaultSettings() {
+        template = new PersistenceDocumentTemplate(new PersistenceDatabaseManager(em), PersistenceSettings.DEFAULT);
+        template.insert(persons(2));
+        em.flush();
+        final String jpql = "SELECT p FROM Person p WHERE p.name = :name";
+
+        final List<Object> first = template.prepare(jpql).bind("name", "Person 0").<Object>result().toList();
+        final List<Object> second = template.prepare(jpql).bind("name", "Person 1").<Object>result().toList();
+
+        assertThat(first.size(), is(1));
+        assertThat(second.size(), is(1));
+        assertThat(em.createNamedQuery(SelectQueryParser.jpqlQueryName(jpql)).setParameter("name", "Person 0")
+                .getResultList().size(), is(1));
+    }
+
+    @Test
+    void readReplicaReadsOutsideTransactionOnly() {
+        final Person person = persons(1).get(0);
+        template.insert(person);
+        em.getTransaction().commit();
+        final PersistenceDatabaseManager manager = PersistenceDatabaseManagers.withReadReplica(em,
+                "testPersistenceUnit");
+        final PersistenceDocumentTemplate primary = new PersistenceDocumentTemplate(manager,
+                new PersistenceSettings(0, 512, 0, 2));
+        final PersistenceDocumentTemplate replica = primary.readingFromReplica();
+        try {
+            assertThat(primary.find(Person.class, person.getId()).orElseThrow(), is(sameInstance(person)));
+            final Person fromReplica = replica.find(Person.class, person.getId()).orElseThrow();
+            assertThat(fromReplica, is(not(sameInstance(person))));
+            assertThat(fromReplica.getName(), is(person.getName()));
+            assertThat("the persistence context of the replica is cleared by each call",
+                    replica.find(Person.class, person.getId()).orElseThrow(), is(not(sameInstance(fromReplica))));
+
+            em.getTransaction().begin();
+            assertThat("a call in a transaction reads from the primary",
+                    replica.find(Person.class, person.getId()).orElseThrow(), is(sameInstance(person)));
+        } finally {
+            manager.close();
+        }
+    }
+
+    private static List<Person> persons(int count) {
+        return IntStream.range(0, count).mapToObj(index -> {
+            Person person = new Person();
+            person.setName("Person " + index);
+            return person;
+        }).toList();
+    }
+
+}
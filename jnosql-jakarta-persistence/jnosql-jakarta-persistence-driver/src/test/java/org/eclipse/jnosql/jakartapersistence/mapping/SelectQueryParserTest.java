@@ -0,0 +1,249 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+import ee.omnifish.jnosql.jakartapersistence.Person;
+import jakarta.data.Sort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import org.eclipse.jnosql.communication.semistructured.CriteriaCondition;
+import org.eclipse.jnosql.communication.semistructured.Element;
+import org.eclipse.jnosql.communication.semistructured.SelectQuery;
+import org.eclipse.jnosql.jakartapersistence.communication.PersistenceDatabaseManager;
+import org.eclipse.persistence.jpa.JpaQuery;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.DatabaseRecord;
+import org.eclipse.persistence.sessions.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SelectQueryParserTest {
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private SelectQueryParser parser;
+
+    @BeforeEach
+    void init() {
+        emf = Persistence.createEntityManagerFactory("testPersistenceUnit");
+        em = emf.createEntityManager();
+        // the cache is disabled so that every query is translated from scratch
+        parser = new SelectQueryParser(new PersistenceDatabaseManager(em), new QueryCache(0), PersistenceSettings.DEFAULT);
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    void sqlIsSameForDifferentValues() {
+        final String adaSql = sql(parser.buildSelectQuery(nameAndAge("Ada", 30L)));
+        final String graceSql = sql(parser.buildSelectQuery(nameAndAge("Grace", 50L)));
+
+        assertThat(graceSql, is(adaSql));
+        assertThat(adaSql, not(containsString("Ada")));
+        assertThat(adaSql, not(containsString("30")));
+    }
+
+    @Test
+    void sqlIsSameForDifferentInValues() {
+        final String firstSql = sql(parser.buildSelectQuery(namesIn("Ada", "Grace")));
+        final String secondSql = sql(parser.buildSelectQuery(namesIn("Linus", "Ken")));
+
+        assertThat(secondSql, is(firstSql));
+        assertThat(firstSql, not(containsString("Ada")));
+    }
+
+    @Test
+    void orLikeAndNotAreTranslatedToSql() {
+        insertPersons(List.of("Ada", "Grace", "Linus"));
+        final SelectQuery query = SelectQuery.builder()
+                .from("Person")
+                .where(CriteriaCondition.or(
+                        CriteriaCondition.like(Element.of("name", "G%")),
+                        CriteriaCondition.eq(Element.of("name", "Linus")).negate().and(
+                                CriteriaCondition.eq(Element.of("name", "Grace")).negate())))
+                .build();
+
+        final String sql = sql(parser.buildSelectQuery(query));
+        final List<String> found = parser.<Person>select(query).map(Person::getName).toList();
+
+        assertThat(sql, containsString(" OR "));
+        assertThat(sql, containsString(" LIKE "));
+        assertThat(sql, not(containsString("G%")));
+        assertThat(found, containsInAnyOrder("Ada", "Grace"));
+    }
+
+    @Test
+    void inValuesArePaddedToPowerOfTwo() {
+        final String threeValuesSql = sql(parser.buildSelectQuery(namesIn("Ada", "Grace", "Linus")));
+        final String fourValuesSql = sql(parser.buildSelectQuery(namesIn("Ada", "Grace", "Linus", "Ken")));
+        final String fiveValuesSql = sql(parser.buildSelectQuery(namesIn("Ada", "Grace", "Linus", "Ken", "Barbara")));
+
+        assertThat(threeValuesSql, is(fourValuesSql));
+        assertThat(fiveValuesSql, not(is(fourValuesSql)));
+    }
+
+    @Test
+    void largeInIsSplitIntoChunks() {
+        final List<String> names = List.of("Ada", "Grace", "Linus", "Ken", "Barbara");
+        insertPersons(names);
+        final SelectQueryParser chunkingParser = new SelectQueryParser(new PersistenceDatabaseManager(em),
+                new QueryCache(0), new PersistenceSettings(0, 2, 0, 50));
+        final SelectQuery query = namesIn("Ada", "Grace", "Linus", "Ken", "Barbara", "Ada");
+
+        final List<String> found = chunkingParser.<Person>select(query).map(Person::getName).toList();
+
+        assertThat(found, containsInAnyOrder(names.toArray()));
+        assertThat(chunkingParser.count(query), is(5L));
+    }
+
+    @Test
+    void columnsAreSelectedIntoUnmanagedEntities() {
+        insertPersons(List.of("Ada", "Grace"));
+        final SelectQuery query = SelectQuery.builder("name")
+                .from("Person")
+                .where(CriteriaCondition.eq(Element.of("name", "Ada")))
+                .build();
+
+        final List<Person> persons = parser.<Person>select(query).toList();
+
+        assertThat(persons, hasSize(1));
+        assertThat(persons.get(0).getName(), is("Ada"));
+        assertThat(persons.get(0).getId(), is(0L));
+        assertThat(em.contains(persons.get(0)), is(false));
+    }
+
+    @Test
+    void columnsAreSelectedIntoRecords() {
+        insertPersons(List.of("Ada", "Grace"));
+        final SelectQuery query = SelectQuery.builder()
+                .from("Person")
+                .sort(Sort.asc("name"))
+                .build();
+
+        final List<String> names = parser.select(query, PersonName.class).map(PersonName::name).toList();
+
+        assertThat(names, contains("Ada", "Grace"));
+    }
+
+    record PersonName(String name) {
+
+    }
+
+    @Test
+    void compiledQueriesAreRegisteredAsNamedQueries() {
+        insertPersons(List.of("Ada", "Grace"));
+        final SelectQueryParser namedParser = new SelectQueryParser(new PersistenceDatabaseManager(em),
+                new QueryCache(10), new PersistenceSettings(10, 512, 0, 50, true));
+
+        final List<String> ada = namedParser.<Person>select(nameAndAge("Ada", 100L)).map(Person::getName).toList();
+        final List<String> grace = namedParser.<Person>select(nameAndAge("Grace", 100L)).map(Person::getName).toList();
+
+        assertThat(ada, contains("Ada"));
+        assertThat(grace, contains("Grace"));
+        final String name = CompiledQuery.NAME_PREFIX + QueryShape.of("select", nameAndAge("Ada", 100L)).key();
+        assertThat(em.createNamedQuery(name, Person.class).setParameter("p0", "Ada").setParameter("p1", 100L)
+                .getResultList(), hasSize(1));
+    }
+
+    @PersistenceHints(timeout = 5000)
+    private static void timeoutHint() {
+    }
+
+    @Test
+    void onlyHintsThatAreSetAreApplied() throws NoSuchMethodException {
+        insertPersons(List.of("Ada", "Grace"));
+        final PersistenceHints hints = getClass().getDeclaredMethod("timeoutHint").getAnnotation(PersistenceHints.class);
+
+        final TypedQuery<Person> query = parser.buildSelectQuery(nameAndAge("Ada", 100L));
+        ProviderSupport.applyHints(em, query, hints);
+
+        assertThat(query.getHints().get("jakarta.persistence.query.timeout"), is(5000));
+        assertThat(query.getHints().containsKey("jakarta.persistence.cache.retrieveMode"), is(false));
+        assertThat(parser.count(nameAndAge("Ada", 100L), hints), is(1L));
+        assertThat(parser.exists(nameAndAge("Linus", 100L), hints), is(false));
+        assertThat(parser.<Person>select(SelectQuery.select("name").from("Person").where("name").eq("Ada").build(),
+                hints).map(Person::getName).toList(), contains("Ada"));
+    }
+
+    @Test
+    void streamingReadsAllEntitiesDetached() {
+        final List<String> names = List.of("Ada", "Grace", "Linus", "Ken", "Barbara");
+        insertPersons(names);
+        final SelectQueryParser streamingParser = new SelectQueryParser(new PersistenceDatabaseManager(em),
+                new QueryCache(10), new PersistenceSettings(10, 512, 2, 50));
+
+        final List<Person> all = streamingParser.findAll(Person.class).toList();
+        final List<Person> limited = streamingParser.<Person>select(SelectQuery.builder()
+                .from("Person")
+                .where(CriteriaCondition.gt(Element.of("age", -1L)))
+                .limit(3)
+                .build()).toList();
+
+        assertThat(all.stream().map(Person::getName).toList(), containsInAnyOrder(names.toArray()));
+        assertThat(all.stream().anyMatch(em::contains), is(false));
+        assertThat(limited, hasSize(3));
+    }
+
+    private void insertPersons(List<String> names) {
+        em.getTransaction().begin();
+        em.createQuery("delete from Person p").executeUpdate();
+        names.forEach(name -> {
+            Person person = new Person();
+            person.setName(name);
+            em.persist(person);
+        });
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    private static SelectQuery nameAndAge(String name, long age) {
+        return SelectQuery.builder()
+                .from("Person")
+                .where(CriteriaCondition.and(
+                        CriteriaCondition.eq(Element.of("name", name)),
+                        CriteriaCondition.lte(Element.of("age", age))))
+                .build();
+    }
+
+    private static SelectQuery namesIn(String... names) {
+        return SelectQuery.builder()
+                .from("Person")
+                .where(CriteriaCondition.in(Element.of("name", List.of(names))))
+                .build();
+    }
+
+    private String sql(TypedQuery<?> query) {
+        DatabaseQuery databaseQuery = query.unwrap(JpaQuery.class).getDatabaseQuery();
+        databaseQuery.prepareCall(em.unwrap(Session.class), new DatabaseRecord());
+        return databaseQuery.getSQLString();
+    }
+
+}
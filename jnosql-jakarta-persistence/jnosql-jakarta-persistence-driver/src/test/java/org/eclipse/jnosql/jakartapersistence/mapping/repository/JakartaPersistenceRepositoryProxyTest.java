@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping.repository;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import ee.omnifish.jnosql.jakartapersistence.EntityManagerProducer;
+import ee.omnifish.jnosql.jakartapersistence.Person;
+import jakarta.data.repository.By;
+import jakarta.data.repository.CrudRepository;
+import jakarta.data.repository.Param;
+import jakarta.data.repository.Update;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import java.util.List;
+import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceDocumentTemplate;
+import org.eclipse.jnosql.mapping.core.Converters;
+import org.eclipse.jnosql.mapping.metadata.EntitiesMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JakartaPersistenceRepositoryProxyTest {
+
+    interface UnnamedUpdateRepository extends CrudRepository<Person, Long> {
+
+        @Update
+        int updateAge(@By(By.ID) long id, long age);
+    }
+
+    interface ConditionUpdateRepository extends CrudRepository<Person, Long> {
+
+        @Update
+        int updateAge(@By(By.ID) long id, @By("name") String name, @Param("age") long age);
+    }
+
+    interface UnsampledParameterRepository extends CrudRepository<Person, Long> {
+
+        List<Person> findByName(CharSequence name);
+    }
+
+    private SeContainer cdiContainer;
+
+    @BeforeEach
+    void init() {
+        cdiContainer = SeContainerInitializer.newInstance()
+                .addBeanClasses(EntityManagerProducer.class)
+                .initialize();
+    }
+
+    @AfterEach
+    void cleanup() {
+        cdiContainer.close();
+    }
+
+    @Test
+    void updateWithoutParameterNameFailsWhenProxyIsCreated() throws NoSuchMethodException {
+        assumeFalse(UnnamedUpdateRepository.class.getMethod("updateAge", long.class, long.class)
+                .getParameters()[1].isNamePresent(), "the tests are compiled with the parameter names");
+        final PersistenceDocumentTemplate template = cdiContainer.select(PersistenceDocumentTemplate.class).get();
+        final EntitiesMetadata entities = cdiContainer.select(EntitiesMetadata.class).get();
+        final Converters converters = cdiContainer.select(Converters.class).get();
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new JakartaPersistenceRepositoryProxy<>(template, entities, UnnamedUpdateRepository.class,
+                        converters));
+
+        assertThat(exception.getMessage(), containsString("@Param"));
+    }
+
+    @Test
+    void updateWithConditionFailsWhenProxyIsCreated() {
+        final PersistenceDocumentTemplate template = cdiContainer.select(PersistenceDocumentTemplate.class).get();
+        final EntitiesMetadata entities = cdiContainer.select(EntitiesMetadata.class).get();
+        final Converters converters = cdiContainer.select(Converters.class).get();
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new JakartaPersistenceRepositoryProxy<>(template, entities, ConditionUpdateRepository.class,
+                        converters));
+
+        assertThat(exception.getMessage(), containsString("@By(By.ID)"));
+    }
+
+    @Test
+    void warmupSkipsMethodsWithParameterWithoutSample() {
+        final PersistenceDocumentTemplate template = cdiContainer.select(PersistenceDocumentTemplate.class).get();
+        final JakartaPersistenceRepositoryProxy<Person, Long> proxy = new JakartaPersistenceRepositoryProxy<>(template,
+                cdiContainer.select(EntitiesMetadata.class).get(), UnsampledParameterRepository.class,
+                cdiContainer.select(Converters.class).get());
+        final int cached = template.queryCacheStatistics().size();
+
+        assertThat(proxy.warmup(), is(empty()));
+        assertThat("no query with a null name is compiled", template.queryCacheStatistics().size(), is(cached));
+    }
+
+}
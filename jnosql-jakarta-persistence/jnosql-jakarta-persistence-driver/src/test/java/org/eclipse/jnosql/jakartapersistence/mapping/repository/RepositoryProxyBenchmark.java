@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping.repository;
+
+import ee.omnifish.jnosql.jakartapersistence.EntityManagerProducer;
+import ee.omnifish.jnosql.jakartapersistence.Person;
+import ee.omnifish.jnosql.jakartapersistence.PersonRepository;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jnosql.jakartapersistence.mapping.PersistenceDocumentTemplate;
+import org.eclipse.jnosql.mapping.core.Converters;
+import org.eclipse.jnosql.mapping.metadata.EntitiesMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares calls of derived query methods through the precompiled executors of
+ * {@link JakartaPersistenceRepositoryProxy} with calls through the generic dispatch of its superclass.
+ * Run the {@link #main(String[])} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryProxyBenchmark {
+
+    private SeContainer container;
+    private JakartaPersistenceRepositoryProxy<Person, String> precompiled;
+    private JakartaPersistenceRepositoryProxy<Person, String> generic;
+    private Method findByNameIn;
+    private Method existsByName;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        container = SeContainerInitializer.newInstance()
+                .addBeanClasses(EntityManagerProducer.class)
+                .initialize();
+        final PersistenceDocumentTemplate template = container.select(PersistenceDocumentTemplate.class).get();
+        final EntitiesMetadata entities = container.select(EntitiesMetadata.class).get();
+        final Converters converters = container.select(Converters.class).get();
+        precompiled = new JakartaPersistenceRepositoryProxy<>(template, entities, PersonRepository.class, converters, true);
+        generic = new JakartaPersistenceRepositoryProxy<>(template, entities, PersonRepository.class, converters, false);
+        findByNameIn = PersonRepository.class.getMethod("findByNameIn", Set.class);
+        existsByName = PersonRepository.class.getMethod("existsByName", String.class);
+
+        final EntityManager em = container.select(EntityManager.class).get();
+        em.getTransaction().begin();
+        Person person = new Person();
+        person.setName("Ada");
+        template.insert(person);
+        em.getTransaction().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public Object findByNameInPrecompiled() throws Throwable {
+        return precompiled.invoke(null, findByNameIn, new Object[]{Set.of("Ada", "Grace")});
+    }
+
+    @Benchmark
+    public Object findByNameInGeneric() throws Throwable {
+        return generic.invoke(null, findByNameIn, new Object[]{Set.of("Ada", "Grace")});
+    }
+
+    @Benchmark
+    public Object existsByNamePrecompiled() throws Throwable {
+        return precompiled.invoke(null, existsByName, new Object[]{"Ada"});
+    }
+
+    @Benchmark
+    public Object existsByNameGeneric() throws Throwable {
+        return generic.invoke(null, existsByName, new Object[]{"Ada"});
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RepositoryProxyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Ondro Mihalyi
+ */
+package org.eclipse.jnosql.jakartapersistence.mapping.spi;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+
+import ee.omnifish.jnosql.jakartapersistence.EntityManagerProducer;
+import ee.omnifish.jnosql.jakartapersistence.Person;
+import ee.omnifish.jnosql.jakartapersistence.PersonRepository;
+import jakarta.data.repository.CrudRepository;
+import jakarta.data.repository.Param;
+import jakarta.data.repository.Query;
+import jakarta.enterprise.inject.se.SeContainer;
+import jakarta.enterprise.inject.se.SeContainerInitializer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JakartaPersistenceExtensionTest {
+
+    interface InvalidQueryRepository extends CrudRepository<Person, Long> {
+
+        @Query("SELECT p FROM Person p WHERE p.nickname = :nickname")
+        List<Person> byNickname(@Param("nickname") String nickname);
+    }
+
+    private SeContainer cdiContainer;
+
+    @BeforeEach
+    void init() {
+        cdiContainer = SeContainerInitializer.newInstance()
+                .addBeanClasses(EntityManagerProducer.class)
+                .initialize();
+    }
+
+    @AfterEach
+    void cleanup() {
+        cdiContainer.close();
+    }
+
+    @Test
+    void warmupReportsInvalidJpqlAsDeploymentProblem() {
+        final List<Throwable> problems = new ArrayList<>();
+
+        new JakartaPersistenceExtension().warmup(problems::add, cdiContainer.getBeanManager(),
+                Set.of(InvalidQueryRepository.class));
+
+        assertThat(problems, hasSize(1));
+        assertThat(problems.get(0).getMessage(), containsString("byNickname"));
+    }
+
+    @Test
+    void warmupOfValidRepositoryReportsNoProblem() {
+        final List<Throwable> problems = new ArrayList<>();
+
+        new JakartaPersistenceExtension().warmup(problems::add, cdiContainer.getBeanManager(),
+                Set.of(PersonRepository.class));
+
+        assertThat(problems, empty());
+    }
+
+}
@@ -73,6 +73,7 @@ class PersonRepositoryTest {
 
         assertNotNull(savedPerson);
         verify(template, times(1)).insert(eq(person));
+        verify(template).exists(any(SelectQuery.class));
     }
 
     @Test
@@ -110,9 +111,12 @@ class PersonRepositoryTest {
     @Test
     void shouldSaveAllEntities() {
         List<Person> persons = Arrays.asList(new Person(), new Person());
-        Iterable<Person> savedPersons = personRepository.saveAll(persons);
-        assertNotNull(savedPersons);
-        verify(template, Mockito.times(2)).insert(new Person());
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.empty());
+        when(template.insert(persons)).thenReturn(persons);
+        List<Person> savedPersons = personRepository.saveAll(persons);
+        assertThat(savedPersons).containsExactlyElementsOf(persons);
+        verify(template).insert(persons);
+        verify(template).select(any(SelectQuery.class));
     }
 
     @Test
@@ -159,15 +163,17 @@ class PersonRepositoryTest {
     @Test
     void shouldFindAllEntitiesByIds() {
         List<Long> ids = Arrays.asList(123L, 456L);
-        Person person1 = new Person();
-        Person person2 = new Person();
-        when(template.find(eq(Person.class), anyLong())).thenReturn(Optional.of(person1), Optional.of(person2));
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(new Person(), new Person()));
 
         Stream<Person> foundPersons = personRepository.findByIdIn(ids);
 
-        assertNotNull(foundPersons);
         assertEquals(2, foundPersons.count());
-        verify(template, times(ids.size())).find(eq(Person.class), anyLong());
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template).select(captor.capture());
+        verify(template, Mockito.never()).find(eq(Person.class), any());
+        CriteriaCondition condition = captor.getValue().condition().orElseThrow();
+        assertEquals(Condition.IN, condition.condition());
+        assertThat(condition.element().get()).isEqualTo(ids);
     }
 
     @Test
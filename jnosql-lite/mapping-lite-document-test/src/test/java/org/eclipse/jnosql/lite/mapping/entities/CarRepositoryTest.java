@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.lite.mapping.entities;
+
+import org.eclipse.jnosql.communication.Condition;
+import org.eclipse.jnosql.communication.semistructured.CriteriaCondition;
+import org.eclipse.jnosql.communication.semistructured.DeleteQuery;
+import org.eclipse.jnosql.communication.semistructured.SelectQuery;
+import org.eclipse.jnosql.mapping.document.DocumentTemplate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CarRepositoryTest {
+
+    @Mock
+    private DocumentTemplate template;
+
+    @InjectMocks
+    private CarRepositoryLiteDocument carRepository;
+
+    @Test
+    void shouldConvertIdWhenSaving() {
+        Car car = car("1-A");
+        when(template.exists(any(SelectQuery.class))).thenReturn(true);
+        when(template.update(car)).thenReturn(car);
+
+        carRepository.save(car);
+
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template).exists(captor.capture());
+        verify(template).update(car);
+        assertThat(captor.getValue().condition().orElseThrow().element().get()).isEqualTo("1-A");
+    }
+
+    @Test
+    void shouldConvertIdsWhenSavingAll() {
+        Car stored = car("1-A");
+        Car created = car("2-B");
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(car("1-A")));
+        when(template.insert(List.of(created))).thenReturn(List.of(created));
+        when(template.update(List.of(stored))).thenReturn(List.of(stored));
+
+        List<Car> saved = carRepository.saveAll(List.of(stored, created));
+
+        assertThat(saved).containsExactly(stored, created);
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template).select(captor.capture());
+        assertThat(captor.getValue().condition().orElseThrow().element().get()).isEqualTo(List.of("1-A", "2-B"));
+    }
+
+    @Test
+    void shouldConvertIdsWhenFindingByIds() {
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(car("1-A")));
+
+        List<Car> cars = carRepository.findByIdIn(List.of(Plate.of("1-A"), Plate.of("2-B"))).toList();
+
+        assertThat(cars).hasSize(1);
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template).select(captor.capture());
+        CriteriaCondition condition = captor.getValue().condition().orElseThrow();
+        assertThat(condition.condition()).isEqualTo(Condition.IN);
+        assertThat(condition.element().get()).isEqualTo(List.of("1-A", "2-B"));
+    }
+
+    @Test
+    void shouldConvertIdsWhenDeletingByIds() {
+        carRepository.deleteByIdIn(List.of(Plate.of("1-A"), Plate.of("2-B")));
+
+        ArgumentCaptor<DeleteQuery> captor = ArgumentCaptor.forClass(DeleteQuery.class);
+        verify(template).delete(captor.capture());
+        CriteriaCondition condition = captor.getValue().condition().orElseThrow();
+        assertThat(condition.condition()).isEqualTo(Condition.IN);
+        assertThat(condition.element().get()).isEqualTo(List.of("1-A", "2-B"));
+    }
+
+    private static Car car(String plate) {
+        Car car = new Car();
+        car.setPlate(Plate.of(plate));
+        return car;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.lite.mapping.entities;
+
+import org.eclipse.jnosql.communication.query.method.SelectMethodQueryProvider;
+import org.eclipse.jnosql.communication.semistructured.CommunicationObserverParser;
+import org.eclipse.jnosql.communication.semistructured.QueryParams;
+import org.eclipse.jnosql.communication.semistructured.SelectQuery;
+import org.eclipse.jnosql.communication.semistructured.SelectQueryParser;
+import org.eclipse.jnosql.lite.mapping.metadata.LiteEntitiesMetadata;
+import org.eclipse.jnosql.mapping.metadata.EntityMetadata;
+import org.eclipse.jnosql.mapping.semistructured.query.RepositorySemiStructuredObserverParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of the query of a derived method, e.g. {@code findByNameAndAge}, as the generated
+ * repositories created it before, parsing the method name on every call, with the query skeleton parsed once,
+ * where a call only binds the parameters. Run the {@link #main(String[])} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DerivedQueryBenchmark {
+
+    private static final String METHOD_NAME = "findByNameAndAge";
+
+    private static final SelectQueryParser SELECT_PARSER = new SelectQueryParser();
+
+    private final EntityMetadata metadata = LiteEntitiesMetadata.INSTANCE.get(Person.class);
+
+    private final org.eclipse.jnosql.communication.query.SelectQuery skeleton =
+            new SelectMethodQueryProvider().apply(METHOD_NAME, metadata.name());
+
+    private final CommunicationObserverParser parser = RepositorySemiStructuredObserverParser.of(metadata);
+
+    @Benchmark
+    public SelectQuery parsePerCall() {
+        var selectQuery = new SelectMethodQueryProvider().apply(METHOD_NAME, metadata.name());
+        var observer = RepositorySemiStructuredObserverParser.of(metadata);
+        return bind(SELECT_PARSER.apply(selectQuery, observer));
+    }
+
+    @Benchmark
+    public SelectQuery parsedSkeleton() {
+        return bind(SELECT_PARSER.apply(skeleton, parser));
+    }
+
+    private static SelectQuery bind(QueryParams queryParams) {
+        var params = queryParams.params();
+        params.prefix("name", "Ada");
+        params.prefix("age", 30);
+        return queryParams.query();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DerivedQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -99,9 +99,12 @@ class PersonCrudRepositoryTest {
     @Test
     void shouldSaveAllEntities() {
         List<Person> persons = Arrays.asList(new Person(), new Person());
-        Iterable<Person> savedPersons = personRepository.saveAll(persons);
-        assertNotNull(savedPersons);
-        verify(template, Mockito.times(2)).insert(new Person());
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.empty());
+        when(template.insert(persons)).thenReturn(persons);
+        List<Person> savedPersons = personRepository.saveAll(persons);
+        assertThat(savedPersons).containsExactlyElementsOf(persons);
+        verify(template).insert(persons);
+        verify(template).select(any(SelectQuery.class));
     }
 
     @Test
@@ -116,15 +119,17 @@ class PersonCrudRepositoryTest {
     @Test
     void shouldFindAllEntitiesByIds() {
         List<Long> ids = Arrays.asList(123L, 456L);
-        Person person1 = new Person();
-        Person person2 = new Person();
-        when(template.find(eq(Person.class), anyLong())).thenReturn(Optional.of(person1), Optional.of(person2));
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(new Person(), new Person()));
 
         Stream<Person> foundPersons = personRepository.findByIdIn(ids);
 
-        assertNotNull(foundPersons);
         assertEquals(2, foundPersons.count());
-        verify(template, times(ids.size())).find(eq(Person.class), anyLong());
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template).select(captor.capture());
+        verify(template, Mockito.never()).find(eq(Person.class), any());
+        CriteriaCondition condition = captor.getValue().condition().orElseThrow();
+        assertEquals(Condition.IN, condition.condition());
+        assertThat(condition.element().get()).isEqualTo(ids);
     }
 
     @Test
@@ -188,11 +193,12 @@ class PersonCrudRepositoryTest {
 
     @Test
     void shouldExistByName() {
-        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(new Person(), new Person()));
+        when(template.exists(any(SelectQuery.class))).thenReturn(true);
         boolean result = this.personRepository.existsByName("Ada");
         ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
         assertThat(result).isTrue();
-        verify(template).select(captor.capture());
+        verify(template).exists(captor.capture());
+        verify(template, never()).select(any(SelectQuery.class));
         SelectQuery query = captor.getValue();
         CriteriaCondition condition = query.condition().orElseThrow();
         SoftAssertions.assertSoftly(soft -> {
@@ -204,11 +210,12 @@ class PersonCrudRepositoryTest {
 
     @Test
     void shouldCountByName() {
-        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(new Person(), new Person()));
+        when(template.count(any(SelectQuery.class))).thenReturn(2L);
         long result = this.personRepository.countByName("Ada");
         ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
         assertThat(result).isEqualTo(2L);
-        verify(template).select(captor.capture());
+        verify(template).count(captor.capture());
+        verify(template, never()).select(any(SelectQuery.class));
         var query = captor.getValue();
         CriteriaCondition condition = query.condition().orElseThrow();
         SoftAssertions.assertSoftly(soft -> {
@@ -53,6 +53,7 @@ import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -76,6 +77,44 @@ class PersonRepositoryTest {
 
         assertNotNull(savedPerson);
         verify(template, times(1)).insert(eq(person));
+        verify(template).exists(any(SelectQuery.class));
+    }
+
+    @Test
+    void shouldUpdateStoredEntity() {
+        Person person = new Person(10L, "Ada", 30, List.of(), null);
+        when(template.exists(any(SelectQuery.class))).thenReturn(true);
+        when(template.update(eq(person))).thenReturn(person);
+
+        Person savedPerson = personRepository.save(person);
+
+        assertThat(savedPerson).isSameAs(person);
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template).exists(captor.capture());
+        verify(template, never()).find(eq(Person.class), any());
+        SelectQuery query = captor.getValue();
+        var element = query.condition().orElseThrow().element();
+        SoftAssertions.assertSoftly(soft -> {
+            soft.assertThat(query.columns()).containsExactly(element.name());
+            soft.assertThat(query.limit()).isEqualTo(1L);
+            soft.assertThat(element.get()).isEqualTo(10L);
+        });
+    }
+
+    @Test
+    void shouldSaveAllSplittingStoredAndNewEntities() {
+        Person stored = new Person(10L, "Ada", 30, List.of(), null);
+        Person created = new Person(20L, "Grace", 40, List.of(), null);
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(new Person(10L, null, 0, null, null)));
+        when(template.insert(List.of(created))).thenReturn(List.of(created));
+        when(template.update(List.of(stored))).thenReturn(List.of(stored));
+
+        List<Person> savedPersons = personRepository.saveAll(List.of(stored, created));
+
+        assertThat(savedPersons).containsExactly(stored, created);
+        verify(template).select(any(SelectQuery.class));
+        verify(template).insert(List.of(created));
+        verify(template).update(List.of(stored));
     }
 
     @Test
@@ -113,9 +152,12 @@ class PersonRepositoryTest {
     @Test
     void shouldSaveAllEntities() {
         List<Person> persons = Arrays.asList(new Person(), new Person());
-        Iterable<Person> savedPersons = personRepository.saveAll(persons);
-        assertNotNull(savedPersons);
-        verify(template, Mockito.times(2)).insert(new Person());
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.empty());
+        when(template.insert(persons)).thenReturn(persons);
+        List<Person> savedPersons = personRepository.saveAll(persons);
+        assertThat(savedPersons).containsExactlyElementsOf(persons);
+        verify(template).insert(persons);
+        verify(template).select(any(SelectQuery.class));
     }
 
     @Test
@@ -162,15 +204,31 @@ class PersonRepositoryTest {
     @Test
     void shouldFindAllEntitiesByIds() {
         List<Long> ids = Arrays.asList(123L, 456L);
-        Person person1 = new Person();
-        Person person2 = new Person();
-        when(template.find(eq(Person.class), anyLong())).thenReturn(Optional.of(person1), Optional.of(person2));
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.of(new Person(), new Person()));
 
         Stream<Person> foundPersons = personRepository.findByIdIn(ids);
 
-        assertNotNull(foundPersons);
         assertEquals(2, foundPersons.count());
-        verify(template, times(ids.size())).find(eq(Person.class), anyLong());
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template).select(captor.capture());
+        verify(template, Mockito.never()).find(eq(Person.class), any());
+        CriteriaCondition condition = captor.getValue().condition().orElseThrow();
+        assertEquals(Condition.IN, condition.condition());
+        assertThat(condition.element().get()).isEqualTo(ids);
+    }
+
+    @Test
+    void shouldDeleteAllEntitiesByIdsInOneQuery() {
+        List<Long> ids = Arrays.asList(123L, 456L);
+
+        personRepository.deleteByIdIn(ids);
+
+        ArgumentCaptor<DeleteQuery> captor = ArgumentCaptor.forClass(DeleteQuery.class);
+        verify(template).delete(captor.capture());
+        verify(template, never()).delete(eq(Person.class), any());
+        CriteriaCondition condition = captor.getValue().condition().orElseThrow();
+        assertEquals(Condition.IN, condition.condition());
+        assertThat(condition.element().get()).isEqualTo(ids);
     }
 
     @Test
@@ -242,6 +300,19 @@ class PersonRepositoryTest {
 
     }
 
+    @Test
+    void shouldBindParametersOfEachCall(){
+        when(template.select(any(SelectQuery.class))).thenReturn(Stream.empty(), Stream.empty());
+        this.personRepository.findByName("Ada");
+        this.personRepository.findByName("Grace");
+        ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
+        verify(template, times(2)).select(captor.capture());
+        List<String> names = captor.getAllValues().stream()
+                .map(query -> query.condition().orElseThrow().element().get(String.class))
+                .toList();
+        assertThat(names).containsExactly("Ada", "Grace");
+    }
+
     @Test
     void shouldQuery(){
         when(template.prepare(anyString())).thenReturn(Mockito.mock(PreparedStatement.class));
@@ -252,13 +323,26 @@ class PersonRepositoryTest {
         assertThat(value).isEqualTo("select * from Person where name = @name");
     }
 
+    @Test
+    void shouldReusePreparedStatementBetweenCalls(){
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        when(statement.result()).thenReturn(Stream.empty());
+        when(template.prepare(anyString())).thenReturn(statement);
+        this.personRepository.query("Ada");
+        this.personRepository.query("Grace");
+        verify(template).prepare("select * from Person where name = @name");
+        verify(statement).bind("name", "Ada");
+        verify(statement).bind("name", "Grace");
+    }
+
     @Test
     void shouldExistByName(){
-        when(template.select(any(SelectQuery.class))).thenReturn( Stream.of(new Person(), new Person()));
+        when(template.exists(any(SelectQuery.class))).thenReturn(true);
         boolean result = this.personRepository.existsByName("Ada");
         ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
         assertThat(result).isTrue();
-        verify(template).select(captor.capture());
+        verify(template).exists(captor.capture());
+        verify(template, never()).select(any(SelectQuery.class));
         var query = captor.getValue();
         CriteriaCondition condition = query.condition().orElseThrow();
         SoftAssertions.assertSoftly(soft -> {
@@ -270,11 +354,12 @@ class PersonRepositoryTest {
 
     @Test
     void shouldCountByName(){
-        when(template.select(any(SelectQuery.class))).thenReturn( Stream.of(new Person(), new Person()));
+        when(template.count(any(SelectQuery.class))).thenReturn(2L);
         long result = this.personRepository.countByName("Ada");
         ArgumentCaptor<SelectQuery> captor = ArgumentCaptor.forClass(SelectQuery.class);
         assertThat(result).isEqualTo(2L);
-        verify(template).select(captor.capture());
+        verify(template).count(captor.capture());
+        verify(template, never()).select(any(SelectQuery.class));
         SelectQuery query = captor.getValue();
         CriteriaCondition condition = query.condition().orElseThrow();
         SoftAssertions.assertSoftly(soft -> {
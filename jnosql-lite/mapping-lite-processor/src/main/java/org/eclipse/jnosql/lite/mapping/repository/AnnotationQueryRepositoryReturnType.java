@@ -80,7 +80,7 @@ enum AnnotationQueryRepositoryReturnType implements Function<MethodMetadata, Lis
         @Override
         public List<String> apply(MethodMetadata metadata) {
             List<String> lines = new ArrayList<>();
-            lines.add("java.util.Optional<" + getEntity(metadata) + "> entityResult = prepare.singleResult()");
+            lines.add("java.util.Optional<" + getEntity(metadata) + "> entityResult = prepareJNoSQL.singleResult()");
             lines.add(getEntity(metadata) + " resultJNoSQL = entityResult.orElse(null)");
             return lines;
         }
@@ -112,6 +112,14 @@ enum AnnotationQueryRepositoryReturnType implements Function<MethodMetadata, Lis
         }
     };
 
+    /**
+     * Whether the result is read completely before the method returns, so that the prepared statement can be
+     * reused by the next call. A stream or a cursored page reads from the statement after the method returns.
+     */
+    boolean isMaterialized() {
+        return this != STREAM && this != CURSOR_PAGINATION;
+    }
+
     private static String getEntity(MethodMetadata metadata) {
         return extractFromType(metadata.getReturnType());
     }
@@ -22,4 +22,8 @@ public interface MethodGenerator {
 
     boolean hasReturn();
 
+    default List<String> getSkeletons() {
+        return List.of();
+    }
+
 }
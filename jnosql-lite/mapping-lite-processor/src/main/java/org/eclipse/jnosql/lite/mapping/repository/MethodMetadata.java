@@ -135,6 +135,10 @@ class MethodMetadata {
         return this.generator.hasReturn();
     }
 
+    public List<String> getSkeletons() {
+        return this.generator.getSkeletons();
+    }
+
     public String getReturnValue() {
         return "resultJNoSQL";
     }
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.lite.mapping.repository;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reads the named parameters of the query of a {@link jakarta.data.repository.Query} method at compile time,
+ * e.g. {@code name} from {@code where name = :name} or {@code where name = @name}. Text within quotes is skipped.
+ */
+final class QueryParameters {
+
+    private QueryParameters() {
+    }
+
+    static Set<String> names(String query) {
+        Set<String> names = new LinkedHashSet<>();
+        char quote = 0;
+        for (int index = 0; index < query.length(); index++) {
+            char current = query.charAt(index);
+            if (quote != 0) {
+                if (current == quote) {
+                    quote = 0;
+                }
+            } else if (current == '\'' || current == '"') {
+                quote = current;
+            } else if ((current == ':' || current == '@') && index + 1 < query.length()
+                    && Character.isJavaIdentifierStart(query.charAt(index + 1))) {
+                int end = index + 1;
+                while (end < query.length() && Character.isJavaIdentifierPart(query.charAt(end))) {
+                    end++;
+                }
+                names.add(query.substring(index + 1, end));
+                index = end - 1;
+            }
+        }
+        return names;
+    }
+}
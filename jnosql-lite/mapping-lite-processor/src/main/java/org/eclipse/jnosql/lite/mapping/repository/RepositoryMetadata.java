@@ -15,7 +15,9 @@
 package org.eclipse.jnosql.lite.mapping.repository;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 abstract class RepositoryMetadata implements Function<MethodMetadata, MethodGenerator> {
@@ -62,6 +64,12 @@ abstract class RepositoryMetadata implements Function<MethodMetadata, MethodGene
         return this.element.getMethods();
     }
 
+    public Set<String> getSkeletons() {
+        Set<String> skeletons = new LinkedHashSet<>();
+        this.element.getMethods().forEach(m -> skeletons.addAll(m.getSkeletons()));
+        return skeletons;
+    }
+
     public RepositoryElement getElement() {
         return element;
     }
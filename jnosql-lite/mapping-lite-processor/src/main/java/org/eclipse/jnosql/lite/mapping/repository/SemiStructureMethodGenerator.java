@@ -30,6 +30,11 @@ class SemiStructureMethodGenerator implements MethodGenerator {
         return methodBuilder.apply(this.metadata);
     }
 
+    @Override
+    public List<String> getSkeletons() {
+        return SemiStructuredMethodBuilder.of(this.metadata).skeletons(this.metadata);
+    }
+
     @Override
     public boolean hasReturn() {
         return !metadata.getReturnType().equals(Void.TYPE.getName());
@@ -18,10 +18,13 @@ import jakarta.data.repository.By;
 import jakarta.data.repository.OrderBy;
 import jakarta.data.repository.Param;
 import jakarta.data.repository.Query;
+import org.eclipse.jnosql.lite.mapping.ValidationException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 enum SemiStructuredMethodBuilder implements Function<MethodMetadata, List<String>> {
@@ -35,54 +38,113 @@ enum SemiStructuredMethodBuilder implements Function<MethodMetadata, List<String
             lines.addAll(returnType.apply(metadata));
             return lines;
         }
+
+        @Override
+        List<String> skeletons(MethodMetadata metadata) {
+            return List.of(selectSkeleton(metadata));
+        }
     }, ANNOTATION_QUERY {
         @Override
         public List<String> apply(MethodMetadata metadata) {
             List<String> lines = new ArrayList<>();
             Query query = metadata.getQuery();
-            lines.add("var prepareJNoSQL = template.prepare(\"" + query.value() + "\")");
+            validate(metadata, query);
+            AnnotationQueryRepositoryReturnType returnType = AnnotationQueryRepositoryReturnType.of(metadata);
+            if (returnType.isMaterialized()) {
+                // each call takes a statement from the pool, so a statement is never bound by two calls at once;
+                // a pooled statement keeps the bindings of its previous call, but validate checks that every
+                // parameter of the query is bound by the method, so each call overwrites all of them
+                lines.add("org.eclipse.jnosql.mapping.PreparedStatement pooledJNoSQL = " + statementPool(metadata) + ".poll()");
+                lines.add("org.eclipse.jnosql.mapping.PreparedStatement prepareJNoSQL = " + SPACE +
+                        "pooledJNoSQL != null ? pooledJNoSQL : template.prepare(\"" + query.value() + "\")");
+            } else {
+                lines.add("var prepareJNoSQL = template.prepare(\"" + query.value() + "\")");
+            }
             for (Parameter parameter : metadata.getParameters()) {
                 if (parameter.hasParam()) {
                     Param param = parameter.param();
                     lines.add("prepareJNoSQL.bind(\"" + param.value() + "\", " + parameter.name() + ")");
                 }
             }
-            AnnotationQueryRepositoryReturnType returnType = AnnotationQueryRepositoryReturnType.of(metadata);
             lines.addAll(returnType.apply(metadata));
+            if (returnType.isMaterialized()) {
+                lines.add(statementPool(metadata) + ".offer(prepareJNoSQL)");
+            }
             return lines;
         }
+
+        @Override
+        List<String> skeletons(MethodMetadata metadata) {
+            if (!AnnotationQueryRepositoryReturnType.of(metadata).isMaterialized()) {
+                return List.of();
+            }
+            return List.of("private final java.util.Queue<org.eclipse.jnosql.mapping.PreparedStatement> "
+                    + statementPool(metadata) + " =\n"
+                    + "            new java.util.concurrent.ConcurrentLinkedQueue<>();");
+        }
+
+        /**
+         * Checks at compile time that the query isn't blank and that every named parameter of the query
+         * is bound by a parameter of the method annotated with {@link Param}.
+         */
+        private void validate(MethodMetadata metadata, Query query) {
+            if (query.value().isBlank()) {
+                throw new ValidationException("The query of the method " + metadata.getMethodName() + " is blank");
+            }
+            Set<String> bound = new HashSet<>();
+            for (Parameter parameter : metadata.getParameters()) {
+                if (parameter.hasParam()) {
+                    bound.add(parameter.param().value());
+                }
+            }
+            for (String name : QueryParameters.names(query.value())) {
+                if (!bound.contains(name)) {
+                    throw new ValidationException("The parameter " + name + " of the query of the method "
+                            + metadata.getMethodName() + " is not bound, a parameter annotated with @Param(\""
+                            + name + "\") is required: " + query.value());
+                }
+            }
+        }
+
+        /**
+         * The pool of the prepared statements of the method, named after the method and the types of its
+         * parameters, so that every method, including overloads, has its own pool.
+         */
+        private String statementPool(MethodMetadata metadata) {
+            return "statementsJNoSQL_" + metadata.getMethodName() + parameterTypes(metadata);
+        }
     }, EXIST_BY {
         @Override
         public List<String> apply(MethodMetadata metadata) {
             List<String> lines = new ArrayList<>();
             feedSelectQuery(metadata, lines);
-            lines.add("Stream<" + metadata.getEntityType() + "> entitiesJNoSQL = this.template.select(queryJNoSQL)");
-            lines.add("boolean resultJNoSQL = entitiesJNoSQL.findAny().isPresent()");
+            lines.add("boolean resultJNoSQL = this.template.exists(queryJNoSQL)");
             return lines;
         }
+
+        @Override
+        List<String> skeletons(MethodMetadata metadata) {
+            return List.of(selectSkeleton(metadata));
+        }
     },COUNT_BY {
         @Override
         public List<String> apply(MethodMetadata metadata) {
             List<String> lines = new ArrayList<>();
             feedSelectQuery(metadata, lines);
-            lines.add("Stream<" + metadata.getEntityType() + "> entitiesJNoSQL = this.template.select(queryJNoSQL)");
-            lines.add("long resultJNoSQL = entitiesJNoSQL.count()");
+            lines.add("long resultJNoSQL = this.template.count(queryJNoSQL)");
             return lines;
         }
+
+        @Override
+        List<String> skeletons(MethodMetadata metadata) {
+            return List.of(selectSkeleton(metadata));
+        }
     },DELETE_BY{
         @Override
         public List<String> apply(MethodMetadata metadata) {
             List<String> lines = new ArrayList<>();
-            lines.add("org.eclipse.jnosql.communication.query.method.DeleteMethodProvider deleteMethodFactoryJNoSQL = " + SPACE +
-                    "org.eclipse.jnosql.communication.query.method.DeleteMethodProvider.INSTANCE");
-            lines.add("org.eclipse.jnosql.communication.query.method.DeleteByMethodQueryProvider supplierJNoSQL = " + SPACE +
-                    " new org.eclipse.jnosql.communication.query.method.DeleteByMethodQueryProvider()");
-            lines.add("org.eclipse.jnosql.communication.query.DeleteQuery deleteJNoSQL = supplierJNoSQL.apply(\"" +
-                    metadata.getMethodName() + "\", metadata.name())");
-            lines.add("org.eclipse.jnosql.communication.semistructured.CommunicationObserverParser parserJNoSQL = " + SPACE +
-                    "org.eclipse.jnosql.mapping.semistructured.query.RepositorySemiStructuredObserverParser.of(metadata)");
             lines.add("org.eclipse.jnosql.communication.semistructured.DeleteQueryParams queryParamsJNoSQL = " + SPACE +
-                    "DELETE_PARSER.apply(deleteJNoSQL, parserJNoSQL)");
+                    "DELETE_PARSER.apply(" + skeletonName(metadata, "Delete") + ".QUERY, EntityJNoSQL.PARSER)");
             lines.add("org.eclipse.jnosql.communication.Params paramsJNoSQL = queryParamsJNoSQL.params()");
             for (Parameter parameter : metadata.getParameters()) {
                 lines.add("paramsJNoSQL.prefix(\"" + parameter.name() + "\", " + parameter.name() + ")");
@@ -90,6 +152,12 @@ enum SemiStructuredMethodBuilder implements Function<MethodMetadata, List<String
             lines.add("this.template.delete(queryParamsJNoSQL.query())");
             return lines;
         }
+
+        @Override
+        List<String> skeletons(MethodMetadata metadata) {
+            return List.of(skeleton(metadata, "Delete", "org.eclipse.jnosql.communication.query.DeleteQuery",
+                    "org.eclipse.jnosql.communication.query.method.DeleteByMethodQueryProvider"));
+        }
     },NOT_SUPPORTED {
         @Override
         public List<String> apply(MethodMetadata metadata) {
@@ -119,6 +187,7 @@ enum SemiStructuredMethodBuilder implements Function<MethodMetadata, List<String
         @Override
         public List<String> apply(MethodMetadata metadata) {
             List<String> lines = new ArrayList<>();
+            // a HashMap, the parameters may be null
             lines.add("java.util.Map<String, Object> parametersJNoSQL = new java.util.HashMap<>()");
             for (Parameter parameter : metadata.getParameters()) {
                 By by = parameter.by();
@@ -126,18 +195,9 @@ enum SemiStructuredMethodBuilder implements Function<MethodMetadata, List<String
                     lines.add("parametersJNoSQL.put(\"" + by.value() + "\", " + parameter.name() + ")");
                 }
             }
-            lines.add("java.util.List<Sort<?>> sortsJNoSQL = new java.util.ArrayList<>()");
-            for (OrderBy order : metadata.orders()) {
-                if(order.descending()){
-                    lines.add("sortsJNoSQL.add(jakarta.data.Sort.desc(\"" + order.value() + "\"))");
-                } else {
-                    lines.add("sortsJNoSQL.add(jakarta.data.Sort.asc(\"" + order.value() + "\"))");
-                }
-            }
-
             var pageRequest = metadata.findPageRequest().map(Parameter::name).orElse("null");
             lines.add("var queryJNoSQL = org.eclipse.jnosql.mapping.semistructured.query.SemiStructuredParameterBasedQuery.INSTANCE."+ SPACE +
-                    "toQueryNative(parametersJNoSQL, sortsJNoSQL," + pageRequest +", entityMetadata())");
+                    "toQueryNative(parametersJNoSQL, " + sorts(metadata) + "," + pageRequest +", entityMetadata())");
 
             if (metadata.hasSpecialParameter()) {
                 lines.add("queryJNoSQL = " + SPACE +
@@ -149,19 +209,43 @@ enum SemiStructuredMethodBuilder implements Function<MethodMetadata, List<String
             lines.addAll(returnType.apply(metadata));
             return lines;
         }
+
+        @Override
+        List<String> skeletons(MethodMetadata metadata) {
+            List<String> sorts = new ArrayList<>();
+            for (OrderBy order : metadata.orders()) {
+                if(order.descending()){
+                    sorts.add("jakarta.data.Sort.desc(\"" + order.value() + "\")");
+                } else {
+                    sorts.add("jakarta.data.Sort.asc(\"" + order.value() + "\")");
+                }
+            }
+            return List.of("private static final java.util.List<jakarta.data.Sort<?>> " + sorts(metadata) + " =\n"
+                    + "            java.util.List.of(" + String.join(", ", sorts) + ");");
+        }
+
+        /**
+         * The constant sorts of the method, named like the statement pools, so that overloads with different
+         * {@link OrderBy} annotations don't share them.
+         */
+        private String sorts(MethodMetadata metadata) {
+            return "sortsJNoSQL_" + metadata.getMethodName() + parameterTypes(metadata);
+        }
     };
 
     private static final String SPACE = "\n          ";
 
+    /**
+     * The declarations the generated repository needs once for the method, e.g. the method name parsed into
+     * a query skeleton, so that a call only binds its parameters. Methods with the same name share them.
+     */
+    List<String> skeletons(MethodMetadata metadata) {
+        return List.of();
+    }
+
     private static void feedSelectQuery(MethodMetadata metadata, List<String> lines) {
-        lines.add("org.eclipse.jnosql.communication.query.method.SelectMethodQueryProvider supplierJNoSQL = " + SPACE +
-                "new org.eclipse.jnosql.communication.query.method.SelectMethodQueryProvider()");
-        lines.add("org.eclipse.jnosql.communication.query.SelectQuery selectQueryJNoSQL = " + SPACE +
-                "supplierJNoSQL.apply(\"" + metadata.getMethodName() + "\", metadata.name())");
-        lines.add("org.eclipse.jnosql.communication.semistructured.CommunicationObserverParser parserJNoSQL = " + SPACE +
-                "org.eclipse.jnosql.mapping.semistructured.query.RepositorySemiStructuredObserverParser.of(metadata)");
         lines.add("org.eclipse.jnosql.communication.semistructured.QueryParams queryParamsJNoSQL = " + SPACE +
-                "SELECT_PARSER.apply(selectQueryJNoSQL, parserJNoSQL)");
+                "SELECT_PARSER.apply(" + skeletonName(metadata, "Select") + ".QUERY, EntityJNoSQL.PARSER)");
         if (metadata.hasSpecialParameter()) {
             lines.add("SelectQuery queryJNoSQL = " + SPACE +
                     " org.eclipse.jnosql.mapping.semistructured.query.DynamicQuery.of(new Object[]{" +
@@ -176,6 +260,41 @@ enum SemiStructuredMethodBuilder implements Function<MethodMetadata, List<String
         }
     }
 
+    private static String selectSkeleton(MethodMetadata metadata) {
+        return skeleton(metadata, "Select", "org.eclipse.jnosql.communication.query.SelectQuery",
+                "org.eclipse.jnosql.communication.query.method.SelectMethodQueryProvider");
+    }
+
+    /**
+     * A nested class holding the query parsed from the method name, initialized on the first call of the method.
+     */
+    private static String skeleton(MethodMetadata metadata, String operation, String queryType, String provider) {
+        return "private static final class " + skeletonName(metadata, operation) + " {\n" +
+                "        private static final " + queryType + " QUERY =\n" +
+                "                new " + provider + "()\n" +
+                "                        .apply(\"" + metadata.getMethodName() + "\", EntityJNoSQL.METADATA.name());\n" +
+                "    }";
+    }
+
+    /**
+     * The types of the parameters of the method as a suffix of an identifier, e.g. {@code _String_int}, to tell
+     * overloads apart.
+     */
+    private static String parameterTypes(MethodMetadata metadata) {
+        StringBuilder types = new StringBuilder();
+        for (Parameter parameter : metadata.getParameters()) {
+            final String declaration = parameter.parameterName();
+            final String type = declaration.substring(0, declaration.length() - parameter.name().length());
+            types.append('_').append(type.strip().replaceAll("\\W", "_"));
+        }
+        return types.toString();
+    }
+
+    private static String skeletonName(MethodMetadata metadata, String operation) {
+        String methodName = metadata.getMethodName();
+        return Character.toUpperCase(methodName.charAt(0)) + methodName.substring(1) + operation + "JNoSQL";
+    }
+
     static SemiStructuredMethodBuilder of(MethodMetadata metadata) {
         MethodMetadataOperationType operationType = MethodMetadataOperationType.of(metadata);
         return Arrays.stream(SemiStructuredMethodBuilder.values()).filter(c -> c.name().equals(operationType.name()))